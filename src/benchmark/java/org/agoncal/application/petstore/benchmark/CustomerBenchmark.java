@@ -0,0 +1,47 @@
+package org.agoncal.application.petstore.benchmark;
+
+import org.agoncal.application.petstore.domain.Customer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Customer.calculateAge, called every time a customer is loaded, persisted or updated
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CustomerBenchmark {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private Customer customer;
+
+    // ======================================
+    // =          Lifecycle Methods         =
+    // ======================================
+
+    @Setup
+    public void setUp() {
+        customer = DomainFixtures.customer("paul");
+    }
+
+    // ======================================
+    // =             Benchmarks             =
+    // ======================================
+
+    @Benchmark
+    public Integer calculateAge() {
+        customer.calculateAge();
+        return customer.getAge();
+    }
+}
@@ -0,0 +1,106 @@
+package org.agoncal.application.petstore.benchmark;
+
+import org.agoncal.application.petstore.domain.*;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Builds detached domain objects shaped like the ones of the demo catalog, for the benchmarks
+ */
+
+final class DomainFixtures {
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    private DomainFixtures() {
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    static List<Item> items(int size) {
+        Category category = new Category("Dogs", "Friendly dog from England");
+        List<Item> items = new ArrayList<Item>(size);
+        Product product = null;
+        for (int i = 0; i < size; i++) {
+            // Five items per product, like in the demo catalog
+            if (i % 5 == 0)
+                product = new Product("Bulldog " + i, "Friendly dog from England", category);
+            items.add(new Item("Male Adult Bulldog " + i, BigDecimal.valueOf(1099 + i % 100 * 100, Money.SCALE), "dog" + i % 6 + ".jpg", product, "Friendly dog from England"));
+        }
+        return items;
+    }
+
+    /**
+     * @return a category with its products and their items, linked both ways like the ones of the catalog snapshot
+     */
+    static Category category(String name, int products, int itemsPerProduct) {
+        Category category = new Category(name, "Friendly dog from England");
+        for (int i = 0; i < products; i++) {
+            Product product = new Product("Bulldog " + i, "Friendly dog from England", category);
+            category.addProduct(product);
+            for (int j = 0; j < itemsPerProduct; j++) {
+                product.addItem(new Item("Male Adult Bulldog " + i + j, BigDecimal.valueOf(1099 + j * 100, Money.SCALE), "dog" + j % 6 + ".jpg", product, "Friendly dog from England"));
+            }
+        }
+        return category;
+    }
+
+    /**
+     * Gives the items the ids the database would have given them, from 1
+     */
+    static List<Item> withIds(List<Item> items) {
+        try {
+            Field id = Item.class.getDeclaredField("id");
+            id.setAccessible(true);
+            for (int i = 0; i < items.size(); i++) {
+                id.set(items.get(i), (long) i + 1);
+            }
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        return items;
+    }
+
+    static List<OrderLine> orderLines(List<Item> items) {
+        List<OrderLine> orderLines = new ArrayList<OrderLine>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            orderLines.add(new OrderLine(1 + i % 3, items.get(i)));
+        }
+        return orderLines;
+    }
+
+    static List<CartItem> cartItems(List<Item> items) {
+        List<CartItem> cartItems = new ArrayList<CartItem>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            cartItems.add(new CartItem(items.get(i), 1 + i % 3));
+        }
+        return cartItems;
+    }
+
+    static Customer customer(String login) {
+        Address address = new Address("65 Ritherdon Road", "London", "8QE", "UK");
+        Customer customer = new Customer("Paul", "Smith", login, "password", "paul.smith@example.com", address);
+        customer.setDateOfBirth(new GregorianCalendar(1975, Calendar.MARCH, 24).getTime());
+        return customer;
+    }
+
+    static Order order(Customer customer, List<OrderLine> orderLines) {
+        Order order = new Order(customer, new CreditCard("1234", CreditCardType.VISA, "10/19"), customer.getHomeAddress());
+        order.setOrderLines(orderLines);
+        return order;
+    }
+}
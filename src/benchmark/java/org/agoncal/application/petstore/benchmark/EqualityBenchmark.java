@@ -0,0 +1,92 @@
+package org.agoncal.application.petstore.benchmark;
+
+import org.agoncal.application.petstore.domain.Item;
+import org.agoncal.application.petstore.domain.Order;
+import org.agoncal.application.petstore.domain.OrderLine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         equals and hashCode of the entities, as used by the collections holding them: looking an item up in a
+ *         set, an order line in the lines of an order and comparing orders
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EqualityBenchmark {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    // Number of items in the catalog and of lines of the order
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private Set<Item> itemSet;
+    private Item lastItem;
+    private List<OrderLine> orderLines;
+    private OrderLine lastOrderLine;
+    private Order order;
+    private Order sameOrder;
+
+    // ======================================
+    // =          Lifecycle Methods         =
+    // ======================================
+
+    @Setup
+    public void setUp() {
+        List<Item> items = DomainFixtures.items(size);
+        itemSet = new HashSet<Item>(items);
+        lastItem = DomainFixtures.items(size).get(size - 1);
+        orderLines = DomainFixtures.orderLines(items);
+        lastOrderLine = DomainFixtures.orderLines(DomainFixtures.items(size)).get(size - 1);
+        order = DomainFixtures.order(DomainFixtures.customer("paul"), orderLines);
+        sameOrder = DomainFixtures.order(DomainFixtures.customer("paul"), orderLines);
+    }
+
+    // ======================================
+    // =             Benchmarks             =
+    // ======================================
+
+    @Benchmark
+    public boolean itemSetContains() {
+        return itemSet.contains(lastItem);
+    }
+
+    @Benchmark
+    public int itemHashCode() {
+        return lastItem.hashCode();
+    }
+
+    @Benchmark
+    public boolean orderLinesContain() {
+        return orderLines.contains(lastOrderLine);
+    }
+
+    @Benchmark
+    public int orderLineHashCode() {
+        return lastOrderLine.hashCode();
+    }
+
+    @Benchmark
+    public boolean orderEquals() {
+        return order.equals(sameOrder);
+    }
+
+    @Benchmark
+    public int orderHashCode() {
+        return order.hashCode();
+    }
+}
@@ -0,0 +1,84 @@
+package org.agoncal.application.petstore.benchmark;
+
+import org.agoncal.application.petstore.domain.Item;
+import org.agoncal.application.petstore.domain.Money;
+import org.agoncal.application.petstore.domain.Order;
+import org.agoncal.application.petstore.domain.OrderLine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Order total summed up in cents against the former boxed Float loop, which is kept here on the same unit
+ *         costs and quantities as the baseline. Run it with -prof gc to compare the allocation rates as well.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    // Number of lines of the order
+    @Param({"1", "10", "100"})
+    private int lines;
+
+    private Order order;
+    private Float[] unitCosts;
+    private Integer[] quantities;
+
+    // ======================================
+    // =          Lifecycle Methods         =
+    // ======================================
+
+    @Setup
+    public void setUp() {
+        List<Item> items = DomainFixtures.items(lines);
+        List<OrderLine> orderLines = DomainFixtures.orderLines(items);
+        order = DomainFixtures.order(DomainFixtures.customer("paul"), orderLines);
+
+        unitCosts = new Float[lines];
+        quantities = new Integer[lines];
+        for (int i = 0; i < lines; i++) {
+            unitCosts[i] = orderLines.get(i).getItem().getUnitCost().floatValue();
+            quantities[i] = orderLines.get(i).getQuantity();
+        }
+    }
+
+    // ======================================
+    // =             Benchmarks             =
+    // ======================================
+
+    /**
+     * Same arithmetic as the former Order.getTotal and OrderLine.getSubTotal
+     */
+    @Benchmark
+    public Float floatTotal() {
+        Float total = 0f;
+        for (int i = 0; i < unitCosts.length; i++) {
+            Float subTotal = unitCosts[i] * quantities[i];
+            total += subTotal;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long centsTotal() {
+        return order.getTotalInCents();
+    }
+
+    @Benchmark
+    public Money moneyTotal() {
+        return order.getTotal();
+    }
+}
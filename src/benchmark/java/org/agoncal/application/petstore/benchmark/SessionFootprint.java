@@ -0,0 +1,248 @@
+package org.agoncal.application.petstore.benchmark;
+
+import org.agoncal.application.petstore.domain.Category;
+import org.agoncal.application.petstore.domain.Item;
+import org.agoncal.application.petstore.domain.Product;
+import org.agoncal.application.petstore.service.CatalogService;
+import org.agoncal.application.petstore.web.CatalogController;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import javax.faces.application.Application;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Heap retained by the catalog browsing state of idle sessions, with the CatalogController session scoped as
+ *         it was and request scoped as it is now. Not a JMH benchmark, it measures the used heap once many sessions
+ *         are held:
+ *
+ *         mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test
+ *             -Dexec.mainClass=org.agoncal.application.petstore.benchmark.SessionFootprint
+ *
+ *         Each session browses a category, one of its products, an item and a search with the real CatalogController,
+ *         on MyFaces view roots. With server-side state saving the session keeps the state of its last views, view
+ *         map included, serialized and compressed as MyFaces 2.1 does by default: both scopes retain it. A session
+ *         scoped controller also retains itself, with the category, product, item and items it has shown. While the
+ *         catalog snapshot is current these are shared, but each catalog change replaces the snapshot and every idle
+ *         session then pins its own copy: that is what is measured here, each session reads from its own catalog.
+ */
+
+public class SessionFootprint {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    private static final int SESSIONS = 2000;
+
+    // Shaped like the biggest category of the demo catalog
+    private static final int PRODUCTS = 5;
+    private static final int ITEMS_PER_PRODUCT = 5;
+
+    // Default of org.apache.myfaces.NUMBER_OF_VIEWS_IN_SESSION
+    private static final int VIEWS_IN_SESSION = 20;
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    // Current view of the request being handled
+    private static UIViewRoot viewRoot;
+
+    // ======================================
+    // =              Main Method           =
+    // ======================================
+
+    public static void main(String[] args) throws Exception {
+        // Warms up the classes so that their loading is not measured
+        browse(0, true);
+        browse(0, false);
+
+        long before = retainedPerSession(true);
+        long after = retainedPerSession(false);
+        System.out.println("Catalog browsing state retained per idle session (" + SESSIONS + " sessions)");
+        System.out.println("  session scoped controller : " + before + " bytes");
+        System.out.println("  request scoped controller : " + after + " bytes");
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private static long retainedPerSession(boolean sessionScoped) throws Exception {
+        long start = usedHeap();
+        List<Object> sessions = new ArrayList<Object>(SESSIONS);
+        for (int i = 0; i < SESSIONS; i++) {
+            sessions.add(browse(i, sessionScoped));
+        }
+        long retained = usedHeap() - start;
+        // Keeps the sessions reachable until the heap has been measured
+        if (sessions.size() != SESSIONS)
+            throw new IllegalStateException();
+        return retained / SESSIONS;
+    }
+
+    /**
+     * Shows the four catalog pages, each one in a request of its own. The faces context is the session's own, the
+     * mocks record their invocations and would otherwise be measured as well
+     *
+     * @return what the session holds afterwards: the states of its views, and the controller if it is session scoped
+     */
+    private static Map<String, Object> browse(int session, boolean sessionScoped) throws Exception {
+        CatalogService catalogService = catalog(DomainFixtures.category("Dogs", PRODUCTS, ITEMS_PER_PRODUCT));
+        Map<String, String> requestParameters = new HashMap<String, String>();
+        FacesContext facesContext = facesContext(requestParameters);
+        FacesContextHolder.set(facesContext);
+        LinkedList<byte[]> views = new LinkedList<byte[]>();
+        CatalogController controller = controller(catalogService);
+
+        controller.setCategoryName("Dogs");
+        request(views, facesContext);
+        controller.doFindProducts();
+        controller.getProducts();
+
+        controller = sessionScoped ? controller : controller(catalogService);
+        controller.setProductId((long) session % PRODUCTS);
+        request(views, facesContext);
+        controller.doFindItems();
+        controller.getItems();
+
+        controller = sessionScoped ? controller : controller(catalogService);
+        requestParameters.put("itemId", "0");
+        request(views, facesContext);
+        controller.doFindItem();
+        controller.getItem();
+
+        controller = sessionScoped ? controller : controller(catalogService);
+        controller.setKeyword("bulldog");
+        request(views, facesContext);
+        controller.doSearch();
+        controller.getItems();
+        saveView(views, facesContext);
+        FacesContextHolder.set(null);
+
+        Map<String, Object> httpSession = new HashMap<String, Object>();
+        httpSession.put("views", views);
+        if (sessionScoped)
+            httpSession.put("catalogController", controller);
+        return httpSession;
+    }
+
+    /**
+     * The view of the previous request is saved in the session, the new request gets its own view root
+     */
+    private static void request(LinkedList<byte[]> views, FacesContext facesContext) throws IOException {
+        if (viewRoot != null)
+            saveView(views, facesContext);
+        viewRoot = new UIViewRoot();
+    }
+
+    private static void saveView(LinkedList<byte[]> views, FacesContext facesContext) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(bytes));
+        out.writeObject(viewRoot.saveState(facesContext));
+        out.close();
+        views.addLast(bytes.toByteArray());
+        if (views.size() > VIEWS_IN_SESSION)
+            views.removeFirst();
+        viewRoot = null;
+    }
+
+    private static CatalogController controller(CatalogService catalogService) throws Exception {
+        CatalogController controller = new CatalogController();
+        Field field = CatalogController.class.getDeclaredField("catalogService");
+        field.setAccessible(true);
+        field.set(controller, catalogService);
+        return controller;
+    }
+
+    /**
+     * Catalog of one session, read from a snapshot that has since been replaced
+     */
+    private static CatalogService catalog(final Category category) {
+        return new CatalogService() {
+            @Override
+            public Category findCategory(String categoryName) {
+                return category;
+            }
+
+            @Override
+            public Product findProductWithItems(Long productId) {
+                return category.getProducts().get(productId.intValue());
+            }
+
+            @Override
+            public Item findItem(Long itemId) {
+                return category.getProducts().get(0).getItems().get(itemId.intValue());
+            }
+
+            @Override
+            public List<Item> searchItems(String keyword) {
+                return new ArrayList<Item>(category.getProducts().get(0).getItems());
+            }
+        };
+    }
+
+    /**
+     * Just what the controller and the view root use: the current view, the request parameters and the application
+     * the view map events are published to
+     */
+    private static FacesContext facesContext(Map<String, String> requestParameters) {
+        FacesContext context = mock(FacesContext.class);
+        ExternalContext externalContext = mock(ExternalContext.class);
+        when(externalContext.getRequestParameterMap()).thenReturn(requestParameters);
+        when(context.getExternalContext()).thenReturn(externalContext);
+        when(context.getApplication()).thenReturn(mock(Application.class));
+        when(context.getAttributes()).thenReturn(new HashMap<Object, Object>());
+        when(context.getViewRoot()).thenAnswer(new Answer<UIViewRoot>() {
+            @Override
+            public UIViewRoot answer(InvocationOnMock invocation) {
+                return viewRoot;
+            }
+        });
+        return context;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    // ======================================
+    // =            Inner Classes           =
+    // ======================================
+
+    /**
+     * Gives access to the current instance, which only subclasses of FacesContext can set
+     */
+    private abstract static class FacesContextHolder extends FacesContext {
+
+        static void set(FacesContext context) {
+            setCurrentInstance(context);
+        }
+    }
+}
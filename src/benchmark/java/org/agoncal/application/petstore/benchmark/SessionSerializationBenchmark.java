@@ -0,0 +1,185 @@
+package org.agoncal.application.petstore.benchmark;
+
+import org.agoncal.application.petstore.domain.Customer;
+import org.agoncal.application.petstore.domain.Item;
+import org.agoncal.application.petstore.service.CartLine;
+import org.agoncal.application.petstore.service.ShoppingCart;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Round trip through Java serialization of the state a session holds, as it is passivated or replicated:
+ *         the shopping cart and the logged in customer in their compact forms against the default serialized form
+ *         of the same values, which is kept here as the baseline. The sizes of the serialized forms are printed
+ *         when the state is set up.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SessionSerializationBenchmark {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    // Number of lines of the cart
+    @Param({"1", "10", "100"})
+    private int lines;
+
+    private ShoppingCart cart;
+    private Map<Long, DefaultCartLine> defaultCart;
+    private Customer customer;
+    private DefaultCustomer defaultCustomer;
+
+    // ======================================
+    // =          Lifecycle Methods         =
+    // ======================================
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Item> items = DomainFixtures.withIds(DomainFixtures.items(lines));
+        cart = new ShoppingCart();
+        defaultCart = new LinkedHashMap<Long, DefaultCartLine>();
+        for (int i = 0; i < items.size(); i++) {
+            CartLine line = cart.add(items.get(i));
+            line.setQuantity(1 + i % 3);
+            line.setReserved(line.getQuantity());
+            defaultCart.put(line.getItemId(), new DefaultCartLine(line.getItemId(), line.getQuantity(), line.getReserved(), line.getUnitCost().getCents()));
+        }
+        customer = DomainFixtures.customer("paul");
+        defaultCustomer = new DefaultCustomer(customer);
+
+        System.out.println();
+        System.out.println("Cart of " + lines + " lines : " + serialize(cart).length + " bytes, default form " + serialize(defaultCart).length + " bytes");
+        System.out.println("Customer : " + serialize(customer).length + " bytes, default form " + serialize(defaultCustomer).length + " bytes");
+    }
+
+    // ======================================
+    // =             Benchmarks             =
+    // ======================================
+
+    @Benchmark
+    public Object compactCart() throws IOException, ClassNotFoundException {
+        return deserialize(serialize(cart));
+    }
+
+    @Benchmark
+    public Object defaultCart() throws IOException, ClassNotFoundException {
+        return deserialize(serialize(defaultCart));
+    }
+
+    @Benchmark
+    public Object compactCustomer() throws IOException, ClassNotFoundException {
+        return deserialize(serialize(customer));
+    }
+
+    @Benchmark
+    public Object defaultCustomer() throws IOException, ClassNotFoundException {
+        return deserialize(serialize(defaultCustomer));
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private static byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(object);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes));
+        try {
+            return in.readObject();
+        } finally {
+            in.close();
+        }
+    }
+
+    // ======================================
+    // =          Baseline classes          =
+    // ======================================
+
+    /**
+     * A cart line written with the default serialized form, as CartLine was
+     */
+    static class DefaultCartLine implements Serializable {
+
+        private final Long itemId;
+        private int quantity;
+        private int reserved;
+        private long unitCostInCents;
+
+        DefaultCartLine(Long itemId, int quantity, int reserved, long unitCostInCents) {
+            this.itemId = itemId;
+            this.quantity = quantity;
+            this.reserved = reserved;
+            this.unitCostInCents = unitCostInCents;
+        }
+    }
+
+    /**
+     * The fields of Customer and its address written with the default serialized form, as Customer was
+     */
+    static class DefaultCustomer implements Serializable {
+
+        private Long id;
+        private String login;
+        private String password;
+        private String firstname;
+        private String lastname;
+        private String telephone;
+        private String email;
+        private DefaultAddress homeAddress;
+        private Date dateOfBirth;
+        private Integer age;
+
+        DefaultCustomer(Customer customer) {
+            id = customer.getId();
+            login = customer.getLogin();
+            password = customer.getPassword();
+            firstname = customer.getFirstname();
+            lastname = customer.getLastname();
+            telephone = customer.getTelephone();
+            email = customer.getEmail();
+            homeAddress = new DefaultAddress(customer);
+            dateOfBirth = customer.getDateOfBirth();
+            age = customer.getAge();
+        }
+    }
+
+    static class DefaultAddress implements Serializable {
+
+        private String street1;
+        private String street2;
+        private String city;
+        private String state;
+        private String zipcode;
+        private String country;
+
+        DefaultAddress(Customer customer) {
+            street1 = customer.getHomeAddress().getStreet1();
+            street2 = customer.getHomeAddress().getStreet2();
+            city = customer.getHomeAddress().getCity();
+            state = customer.getHomeAddress().getState();
+            zipcode = customer.getHomeAddress().getZipcode();
+            country = customer.getHomeAddress().getCountry();
+        }
+    }
+}
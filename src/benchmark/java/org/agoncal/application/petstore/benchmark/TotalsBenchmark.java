@@ -0,0 +1,75 @@
+package org.agoncal.application.petstore.benchmark;
+
+import org.agoncal.application.petstore.domain.CartItem;
+import org.agoncal.application.petstore.domain.Item;
+import org.agoncal.application.petstore.domain.Money;
+import org.agoncal.application.petstore.domain.Order;
+import org.agoncal.application.petstore.domain.OrderLine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Order and cart totals, computed several times each time the cart or the order confirmation is rendered
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TotalsBenchmark {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    // Number of lines of the cart and of the order
+    @Param({"1", "10", "100"})
+    private int lines;
+
+    private Order order;
+    private List<OrderLine> orderLines;
+    private List<CartItem> cartItems;
+
+    // ======================================
+    // =          Lifecycle Methods         =
+    // ======================================
+
+    @Setup
+    public void setUp() {
+        List<Item> items = DomainFixtures.items(lines);
+        orderLines = DomainFixtures.orderLines(items);
+        cartItems = DomainFixtures.cartItems(items);
+        order = DomainFixtures.order(DomainFixtures.customer("paul"), orderLines);
+    }
+
+    // ======================================
+    // =             Benchmarks             =
+    // ======================================
+
+    @Benchmark
+    public Money orderTotal() {
+        return order.getTotal();
+    }
+
+    @Benchmark
+    public void orderLineSubTotals(Blackhole blackhole) {
+        for (OrderLine orderLine : orderLines) {
+            blackhole.consume(orderLine.getSubTotal());
+        }
+    }
+
+    @Benchmark
+    public void cartItemSubTotals(Blackhole blackhole) {
+        for (CartItem cartItem : cartItems) {
+            blackhole.consume(cartItem.getSubTotal());
+        }
+    }
+}
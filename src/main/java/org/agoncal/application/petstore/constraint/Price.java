@@ -3,6 +3,7 @@ package org.agoncal.application.petstore.constraint;
 import javax.validation.Constraint;
 import javax.validation.Payload;
 import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Digits;
 import javax.validation.constraints.NotNull;
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
@@ -20,6 +21,7 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 @NotNull
 @DecimalMin("10")
+@Digits(integer = 8, fraction = 2)
 @Target({METHOD, FIELD})
 @Retention(RUNTIME)
 @Constraint(validatedBy = {})
@@ -46,6 +46,12 @@ public class Address {
         this.country = country;
     }
 
+    public Address(Address address) {
+        this(address.street1, address.city, address.zipcode, address.country);
+        this.street2 = address.street2;
+        this.state = address.state;
+    }
+
     // ======================================
     // =         Getters & setters          =
     // ======================================
@@ -20,6 +20,8 @@ public class CartItem {
     @NotNull
     @Min(1)
     private Integer quantity;
+    // Units already reserved in the Inventory for this line when it was added to the cart
+    private int reserved;
 
     // ======================================
     // =            Constructors            =
@@ -30,12 +32,22 @@ public class CartItem {
         this.quantity = quantity;
     }
 
+    public CartItem(Item item, Integer quantity, int reserved) {
+        this.item = item;
+        this.quantity = quantity;
+        this.reserved = reserved;
+    }
+
     // ======================================
     // =              Public Methods        =
     // ======================================
 
-    public Float getSubTotal() {
-        return item.getUnitCost() * quantity;
+    public Money getSubTotal() {
+        return Money.ofCents(getSubTotalInCents());
+    }
+
+    public long getSubTotalInCents() {
+        return item.getPrice().getCents() * quantity;
     }
 
     // ======================================
@@ -58,6 +70,14 @@ public class CartItem {
         this.quantity = quantity;
     }
 
+    public int getReserved() {
+        return reserved;
+    }
+
+    public void setReserved(int reserved) {
+        this.reserved = reserved;
+    }
+
     // ======================================
     // =   Methods hash, equals, toString   =
     // ======================================
@@ -17,11 +17,14 @@ import java.util.List;
  */
 
 @Entity
+@Cacheable
 @NamedQueries({
         // TODO fetch doesn't work with GlassFIsh
         @NamedQuery(name = Category.FIND_BY_NAME, query = "SELECT c FROM Category c LEFT JOIN FETCH c.products WHERE c.name = :pname"),
         // @NamedQuery(name = Category.FIND_BY_NAME, query = "SELECT c FROM Category c WHERE c.name = :pname"),
-        @NamedQuery(name = Category.FIND_ALL, query = "SELECT c FROM Category c")
+        @NamedQuery(name = Category.FIND_ALL, query = "SELECT c FROM Category c", hints = {
+                @QueryHint(name = "eclipselink.query-results-cache", value = "true"),
+                @QueryHint(name = "org.hibernate.cacheable", value = "true")})
 })
 @XmlRootElement
 public class Category {
@@ -31,7 +34,7 @@ public class Category {
     // ======================================
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ids")
     private Long id;
     @Column(nullable = false, length = 30)
     @NotNull
@@ -64,6 +67,15 @@ public class Category {
         this.description = description;
     }
 
+    /**
+     * Detached copy of the category, without its products
+     */
+    public Category(Category category) {
+        this.id = category.getId();
+        this.name = category.getName();
+        this.description = category.getDescription();
+    }
+
     // ======================================
     // =         Getters & setters          =
     // ======================================
@@ -6,6 +6,8 @@ import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.io.Serializable;
 
 /**
  * @author Antonio Goncalves
@@ -14,7 +16,8 @@ import javax.validation.constraints.Size;
  */
 
 @Embeddable
-public class CreditCard {
+@XmlRootElement
+public class CreditCard implements Serializable {
 
     // ======================================
     // =             Attributes             =
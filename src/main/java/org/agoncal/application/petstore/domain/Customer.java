@@ -8,6 +8,9 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import javax.xml.bind.annotation.XmlRootElement;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.Calendar;
 import java.util.Date;
@@ -32,7 +35,7 @@ public class Customer implements Serializable {
     // ======================================
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ids")
     private Long id;
     @Column(unique = true, nullable = false, length = 10)
     @Login
@@ -206,6 +209,96 @@ public class Customer implements Serializable {
         return age;
     }
 
+    // ======================================
+    // =          Serialized form           =
+    // ======================================
+
+    /**
+     * The logged in customer is held by the session, which is passivated and replicated. It is written by its
+     * serialized form, the persistence provider instruments the writeObject and readObject methods of the entity
+     */
+    private Object writeReplace() {
+        return new SerialForm(this);
+    }
+
+    /**
+     * Fields and address written as plain values, without the class descriptors of the default serialized form.
+     * The age is computed again when read
+     */
+    private static final class SerialForm implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private transient Customer customer;
+
+        SerialForm(Customer customer) {
+            this.customer = customer;
+        }
+
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            out.writeBoolean(customer.id != null);
+            if (customer.id != null)
+                out.writeLong(customer.id);
+            writeString(out, customer.login);
+            writeString(out, customer.password);
+            writeString(out, customer.firstname);
+            writeString(out, customer.lastname);
+            writeString(out, customer.telephone);
+            writeString(out, customer.email);
+            out.writeBoolean(customer.dateOfBirth != null);
+            if (customer.dateOfBirth != null)
+                out.writeLong(customer.dateOfBirth.getTime());
+            Address address = customer.homeAddress;
+            out.writeBoolean(address != null);
+            if (address != null) {
+                writeString(out, address.getStreet1());
+                writeString(out, address.getStreet2());
+                writeString(out, address.getCity());
+                writeString(out, address.getState());
+                writeString(out, address.getZipcode());
+                writeString(out, address.getCountry());
+            }
+        }
+
+        private void readObject(ObjectInputStream in) throws IOException {
+            customer = new Customer();
+            customer.id = in.readBoolean() ? in.readLong() : null;
+            customer.login = readString(in);
+            customer.password = readString(in);
+            customer.firstname = readString(in);
+            customer.lastname = readString(in);
+            customer.telephone = readString(in);
+            customer.email = readString(in);
+            customer.dateOfBirth = in.readBoolean() ? new Date(in.readLong()) : null;
+            customer.homeAddress = null;
+            if (in.readBoolean()) {
+                Address address = new Address();
+                address.setStreet1(readString(in));
+                address.setStreet2(readString(in));
+                address.setCity(readString(in));
+                address.setState(readString(in));
+                address.setZipcode(readString(in));
+                address.setCountry(readString(in));
+                customer.homeAddress = address;
+            }
+            customer.calculateAge();
+        }
+
+        private Object readResolve() {
+            return customer;
+        }
+
+        private static void writeString(ObjectOutputStream out, String value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null)
+                out.writeUTF(value);
+        }
+
+        private static String readString(ObjectInputStream in) throws IOException {
+            return in.readBoolean() ? in.readUTF() : null;
+        }
+    }
+
     // ======================================
     // =   Methods hash, equals, toString   =
     // ======================================
@@ -0,0 +1,135 @@
+package org.agoncal.application.petstore.domain;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Accepted order that the write-behind queue could not write. It is kept as it was accepted, with its id and
+ *         its lines, so that it can be looked into and placed again.
+ */
+
+@Entity
+@Table(name = "t_failed_order")
+public class FailedOrder {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    // Id given to the order when it was accepted
+    @Id
+    private Long id;
+    @Column(name = "order_date")
+    @Temporal(TemporalType.DATE)
+    private Date orderDate;
+    @Column(name = "failure_date", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date failureDate;
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+    // Lines as "quantity x item id", separated by commas
+    @Column(name = "order_lines", nullable = false, length = 3000)
+    private String orderLines;
+    @Column(length = 1000)
+    private String cause;
+    @Embedded
+    private Address deliveryAddress;
+    @Embedded
+    private CreditCard creditCard;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    public FailedOrder() {
+    }
+
+    public FailedOrder(Order order, String cause) {
+        this.id = order.getId();
+        this.orderDate = order.getOrderDate();
+        this.failureDate = new Date();
+        this.customerId = order.getCustomer().getId();
+        StringBuilder lines = new StringBuilder();
+        for (OrderLine orderLine : order.getOrderLines()) {
+            if (lines.length() > 0)
+                lines.append(", ");
+            lines.append(orderLine.getQuantity()).append(" x ").append(orderLine.getItem().getId());
+        }
+        this.orderLines = lines.toString();
+        this.cause = cause == null || cause.length() <= 1000 ? cause : cause.substring(0, 1000);
+        this.deliveryAddress = new Address(order.getDeliveryAddress());
+        this.creditCard = new CreditCard(order.getCreditCardNumber(), order.getCreditCardType(), order.getCreditCardExpiryDate());
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public Long getId() {
+        return id;
+    }
+
+    public Date getOrderDate() {
+        return orderDate;
+    }
+
+    public Date getFailureDate() {
+        return failureDate;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getOrderLines() {
+        return orderLines;
+    }
+
+    public String getCause() {
+        return cause;
+    }
+
+    public Address getDeliveryAddress() {
+        return deliveryAddress;
+    }
+
+    public CreditCard getCreditCard() {
+        return creditCard;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FailedOrder)) return false;
+
+        FailedOrder failedOrder = (FailedOrder) o;
+
+        if (!id.equals(failedOrder.id)) return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("FailedOrder");
+        sb.append("{id=").append(id);
+        sb.append(", customerId=").append(customerId);
+        sb.append(", orderLines='").append(orderLines).append('\'');
+        sb.append(", cause='").append(cause).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+}
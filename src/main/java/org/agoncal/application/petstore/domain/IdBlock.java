@@ -0,0 +1,97 @@
+package org.agoncal.application.petstore.domain;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Next id to hand out for an entity. Ids are reserved by blocks so that the row is only read and updated
+ *         once per block, the ids of a block are then given away in memory.
+ */
+
+@Entity
+@Table(name = "t_id_block")
+public class IdBlock {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Id
+    @Column(length = 50)
+    private String name;
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    public IdBlock() {
+    }
+
+    public IdBlock(String name, long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * @return the first id of the reserved block
+     */
+    public long reserve(int size) {
+        long first = nextValue;
+        nextValue += size;
+        return first;
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public String getName() {
+        return name;
+    }
+
+    public long getNextValue() {
+        return nextValue;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IdBlock)) return false;
+
+        IdBlock idBlock = (IdBlock) o;
+
+        if (!name.equals(idBlock.name)) return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("IdBlock");
+        sb.append("{name='").append(name).append('\'');
+        sb.append(", nextValue=").append(nextValue);
+        sb.append('}');
+        return sb.toString();
+    }
+}
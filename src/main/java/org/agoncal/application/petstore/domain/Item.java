@@ -8,6 +8,7 @@ import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlTransient;
+import java.math.BigDecimal;
 
 /**
  * @author Antonio Goncalves
@@ -16,10 +17,11 @@ import javax.xml.bind.annotation.XmlTransient;
  */
 
 @Entity
+@Cacheable
 @NamedQueries({
         @NamedQuery(name = Item.FIND_BY_PRODUCT_ID, query = "SELECT i FROM Item i WHERE i.product.id = :productId"),
-        @NamedQuery(name = Item.SEARCH, query = "SELECT i FROM Item i WHERE UPPER(i.name) LIKE :keyword OR UPPER(i.product.name) LIKE :keyword ORDER BY i.product.category.name, i.product.name"),
-        @NamedQuery(name = Item.FIND_ALL, query = "SELECT i FROM Item i")
+        @NamedQuery(name = Item.FIND_ALL, query = "SELECT i FROM Item i"),
+        @NamedQuery(name = Item.FIND_UNIT_COSTS, query = "SELECT i.id, i.unitCost FROM Item i WHERE i.id IN :ids")
 })
 @XmlRootElement
 public class Item {
@@ -29,7 +31,7 @@ public class Item {
     // ======================================
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ids")
     private Long id;
     @Column(nullable = false, length = 30)
     @NotNull
@@ -37,22 +39,25 @@ public class Item {
     private String name;
     @Column(length = 3000)
     private String description;
-    @Column(nullable = false)
+    @Column(nullable = false, precision = 10, scale = Money.SCALE)
     @Price
-    private Float unitCost;
+    private BigDecimal unitCost;
     @NotEmpty
     private String imagePath;
     @ManyToOne
     @JoinColumn(name = "product_fk", nullable = false)
     @XmlTransient
     private Product product;
+    // Unit cost in cents, converted once from the decimal it was made of
+    @Transient
+    private transient Money price;
 
     // ======================================
     // =             Constants              =
     // ======================================
 
     public static final String FIND_BY_PRODUCT_ID = "Item.findByProductId";
-    public static final String SEARCH = "Item.search";
+    public static final String FIND_UNIT_COSTS = "Item.findUnitCosts";
     public static final String FIND_ALL = "Item.findAll";
 
     // ======================================
@@ -62,7 +67,7 @@ public class Item {
     public Item() {
     }
 
-    public Item(String name, Float unitCost, String imagePath, Product product, String description) {
+    public Item(String name, BigDecimal unitCost, String imagePath, Product product, String description) {
         this.name = name;
         this.unitCost = unitCost;
         this.imagePath = imagePath;
@@ -70,6 +75,34 @@ public class Item {
         this.description = description;
     }
 
+    /**
+     * Detached copy of the item, without its product
+     */
+    public Item(Item item) {
+        this.id = item.getId();
+        this.name = item.getName();
+        this.unitCost = item.getUnitCost();
+        this.imagePath = item.getImagePath();
+        this.description = item.getDescription();
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * The conversion is only done again if the unit cost has been replaced, as the money is immutable it can be
+     * shared by the threads reading a cached item.
+     */
+    public Money getPrice() {
+        Money price = this.price;
+        if (price == null || price.toBigDecimal() != unitCost) {
+            price = Money.valueOf(unitCost);
+            this.price = price;
+        }
+        return price;
+    }
+
     // ======================================
     // =         Getters & setters          =
     // ======================================
@@ -86,11 +119,11 @@ public class Item {
         this.name = name;
     }
 
-    public Float getUnitCost() {
+    public BigDecimal getUnitCost() {
         return unitCost;
     }
 
-    public void setUnitCost(Float unitCost) {
+    public void setUnitCost(BigDecimal unitCost) {
         this.unitCost = unitCost;
     }
 
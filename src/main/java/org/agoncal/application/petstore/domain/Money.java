@@ -0,0 +1,103 @@
+package org.agoncal.application.petstore.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Immutable amount of money held as a number of cents. Prices are persisted as exact decimals, with two
+ *         fraction digits, and totals are summed up as primitive longs: no rounding drift and no boxing per line.
+ */
+
+public final class Money implements Comparable<Money>, Serializable {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    // Number of fraction digits of the persisted decimals
+    public static final int SCALE = 2;
+
+    public static final Money ZERO = new Money(0, BigDecimal.ZERO.setScale(SCALE));
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final long cents;
+    private final BigDecimal amount;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    private Money(long cents, BigDecimal amount) {
+        this.cents = cents;
+        this.amount = amount;
+    }
+
+    /**
+     * @throws ArithmeticException if the amount has more than two significant fraction digits or overflows a long
+     */
+    public static Money valueOf(BigDecimal amount) {
+        return new Money(amount.movePointRight(SCALE).longValueExact(), amount);
+    }
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents, BigDecimal.valueOf(cents, SCALE));
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    public long getCents() {
+        return cents;
+    }
+
+    /**
+     * @return the amount this money was made of, or the exact decimal of its cents
+     */
+    public BigDecimal toBigDecimal() {
+        return amount;
+    }
+
+    public Money plus(Money other) {
+        return ofCents(cents + other.cents);
+    }
+
+    public Money times(int quantity) {
+        return ofCents(cents * quantity);
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public int compareTo(Money other) {
+        return cents < other.cents ? -1 : (cents == other.cents ? 0 : 1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money)) return false;
+
+        Money money = (Money) o;
+
+        return cents == money.cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (cents ^ (cents >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return BigDecimal.valueOf(cents, SCALE).toPlainString();
+    }
+}
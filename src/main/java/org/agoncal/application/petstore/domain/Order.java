@@ -13,6 +13,11 @@ import java.util.List;
 
 @Entity
 @Table(name = "t_order")
+@NamedQueries({
+        // Projections, newest first, the orders are not loaded (see src/main/sql/create-order-indexes.sql)
+        @NamedQuery(name = Order.FIND_BY_CUSTOMER, query = "SELECT o.id, o.orderDate FROM Order o WHERE o.customer.id = :customerId ORDER BY o.id DESC"),
+        @NamedQuery(name = Order.FIND_BY_CUSTOMER_BEFORE, query = "SELECT o.id, o.orderDate FROM Order o WHERE o.customer.id = :customerId AND o.id < :beforeId ORDER BY o.id DESC")
+})
 @XmlRootElement
 public class Order {
 
@@ -20,8 +25,8 @@ public class Order {
     // =             Attributes             =
     // ======================================
 
+    // Given by the IdAllocator when the order is accepted, which can be before it is written
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
     private Long id;
     @Column(name = "order_date", updatable = false)
     @Temporal(TemporalType.DATE)
@@ -29,16 +34,21 @@ public class Order {
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "customer_fk", nullable = false)
     private Customer customer;
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
-    @JoinTable(name = "t_order_order_line",
-            joinColumns = {@JoinColumn(name = "order_fk")},
-            inverseJoinColumns = {@JoinColumn(name = "order_line_fk")})
+    // Lazy, OpenJPA fails to load an order with eager lines when the entities are not enhanced
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<OrderLine> orderLines;
     @Embedded
     private Address deliveryAddress;
     @Embedded
     private CreditCard creditCard = new CreditCard();
 
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    public static final String FIND_BY_CUSTOMER = "Order.findByCustomer";
+    public static final String FIND_BY_CUSTOMER_BEFORE = "Order.findByCustomerBefore";
+
     // ======================================
     // =            Constructors            =
     // ======================================
@@ -52,28 +62,49 @@ public class Order {
         this.deliveryAddress = deliveryAddress;
     }
 
+    public Order(Long id, Customer customer, CreditCard creditCard, Address deliveryAddress) {
+        this(customer, creditCard, deliveryAddress);
+        this.id = id;
+        this.orderDate = new Date();
+    }
+
+    /**
+     * Copy of an accepted order, with its own embedded objects, so that the persistence provider never manages the
+     * instance handed to the customer
+     */
+    public Order(Order order, Customer customer, List<OrderLine> orderLines) {
+        this(order.id, customer, new CreditCard(order.getCreditCardNumber(), order.getCreditCardType(), order.getCreditCardExpiryDate()), new Address(order.deliveryAddress));
+        this.orderDate = order.orderDate;
+        setOrderLines(orderLines);
+    }
+
     // ======================================
     // =          Lifecycle Methods         =
     // ======================================
 
     @PrePersist
     private void setDefaultData() {
-        orderDate = new Date();
+        if (orderDate == null)
+            orderDate = new Date();
     }
 
     // ======================================
     // =              Public Methods        =
     // ======================================
 
-    public Float getTotal() {
+    public Money getTotal() {
+        return Money.ofCents(getTotalInCents());
+    }
+
+    public long getTotalInCents() {
         if (orderLines == null || orderLines.isEmpty())
-            return 0f;
+            return 0;
 
-        Float total = 0f;
+        long total = 0;
 
         // Sum up the quantities
         for (OrderLine orderLine : orderLines) {
-            total += (orderLine.getSubTotal());
+            total += orderLine.getSubTotalInCents();
         }
 
         return total;
@@ -103,8 +134,16 @@ public class Order {
         return orderLines;
     }
 
+    /**
+     * The lines hold the foreign key to their order, they are attached to this one
+     */
     public void setOrderLines(List<OrderLine> orderLines) {
         this.orderLines = orderLines;
+        if (orderLines != null) {
+            for (OrderLine orderLine : orderLines) {
+                orderLine.setOrder(this);
+            }
+        }
     }
 
     public Address getDeliveryAddress() {
@@ -1,6 +1,8 @@
 package org.agoncal.application.petstore.domain;
 
 import javax.persistence.*;
+import javax.xml.bind.annotation.XmlTransient;
+import java.math.BigDecimal;
 
 /**
  * @author Antonio Goncalves
@@ -9,6 +11,11 @@ import javax.persistence.*;
  */
 
 @Entity
+@NamedQueries({
+        @NamedQuery(name = OrderLine.FIND_BY_ORDER, query = "SELECT l FROM OrderLine l JOIN FETCH l.item WHERE l.order.id = :orderId AND l.order.customer.id = :customerId ORDER BY l.id"),
+        // Line count and total of each order, read through the order_fk index
+        @NamedQuery(name = OrderLine.SUM_BY_ORDERS, query = "SELECT l.order.id, COUNT(l), SUM(l.quantity * l.unitCost) FROM OrderLine l WHERE l.order.id IN :orderIds GROUP BY l.order.id")
+})
 public class OrderLine {
 
     // ======================================
@@ -16,13 +23,28 @@ public class OrderLine {
     // ======================================
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ids")
     private Long id;
     @Column(nullable = false)
     private Integer quantity;
     @OneToOne
     @JoinColumn(name = "item_fk", nullable = false)
     private Item item;
+    // Price of the item when the order was accepted, later changes of its unit cost do not change the order
+    @Column(name = "unit_cost", nullable = false, updatable = false, precision = 10, scale = Money.SCALE)
+    private BigDecimal unitCost;
+    @Transient
+    private transient Money price;
+    @ManyToOne
+    @JoinColumn(name = "order_fk", nullable = false)
+    private Order order;
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    public static final String FIND_BY_ORDER = "OrderLine.findByOrder";
+    public static final String SUM_BY_ORDERS = "OrderLine.sumByOrders";
 
     // ======================================
     // =            Constructors            =
@@ -31,17 +53,41 @@ public class OrderLine {
     public OrderLine() {
     }
 
+    /**
+     * The line is sold at the current price of the item
+     */
     public OrderLine(Integer quantity, Item item) {
+        this(quantity, item, item.getUnitCost());
+    }
+
+    public OrderLine(Integer quantity, Item item, BigDecimal unitCost) {
         this.quantity = quantity;
         this.item = item;
+        this.unitCost = unitCost;
     }
 
     // ======================================
     // =              Public Methods        =
     // ======================================
 
-    public Float getSubTotal() {
-        return item.getUnitCost() * quantity;
+    public Money getSubTotal() {
+        return Money.ofCents(getSubTotalInCents());
+    }
+
+    public long getSubTotalInCents() {
+        return getPrice().getCents() * quantity;
+    }
+
+    /**
+     * Same conversion as the one of the item, done once
+     */
+    public Money getPrice() {
+        Money price = this.price;
+        if (price == null || price.toBigDecimal() != unitCost) {
+            price = Money.valueOf(unitCost);
+            this.price = price;
+        }
+        return price;
     }
 
     // ======================================
@@ -68,6 +114,19 @@ public class OrderLine {
         this.item = item;
     }
 
+    public BigDecimal getUnitCost() {
+        return unitCost;
+    }
+
+    @XmlTransient
+    public Order getOrder() {
+        return order;
+    }
+
+    public void setOrder(Order order) {
+        this.order = order;
+    }
+
     // ======================================
     // =   Methods hash, equals, toString   =
     // ======================================
@@ -101,6 +160,7 @@ public class OrderLine {
         sb.append("{id=").append(id);
         sb.append(", quantity=").append(quantity);
         sb.append(", item=").append(item);
+        sb.append(", unitCost=").append(unitCost);
         sb.append('}');
         return sb.toString();
     }
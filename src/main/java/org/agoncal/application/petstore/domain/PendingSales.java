@@ -0,0 +1,101 @@
+package org.agoncal.application.petstore.domain;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Sales of an order line not yet added to the sales aggregates. The row is inserted in the transaction that
+ *         writes the order, so the sale is never lost, and deleted in the one that adds it to its aggregate, so it is
+ *         never counted twice.
+ */
+
+@Entity
+@Table(name = "t_sales_pending")
+@NamedQueries({
+        @NamedQuery(name = PendingSales.FIND_IDS, query = "SELECT p.id FROM PendingSales p ORDER BY p.id"),
+        @NamedQuery(name = PendingSales.FIND_BY_IDS, query = "SELECT p FROM PendingSales p WHERE p.id IN :ids")
+})
+public class PendingSales {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ids")
+    private Long id;
+    @Column(name = "sales_day", nullable = false)
+    @Temporal(TemporalType.DATE)
+    private Date day;
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+    @Column(nullable = false)
+    private int quantity;
+    @Column(name = "amount_cents", nullable = false)
+    private long amountInCents;
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    public static final String FIND_IDS = "PendingSales.findIds";
+    public static final String FIND_BY_IDS = "PendingSales.findByIds";
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    public PendingSales() {
+    }
+
+    public PendingSales(SalesKey key, OrderLine orderLine) {
+        this.day = key.getDay();
+        this.categoryId = key.getCategoryId();
+        this.itemId = key.getItemId();
+        this.quantity = orderLine.getQuantity();
+        this.amountInCents = orderLine.getSubTotalInCents();
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public Long getId() {
+        return id;
+    }
+
+    public SalesKey getKey() {
+        return new SalesKey(day, categoryId, itemId);
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public long getAmountInCents() {
+        return amountInCents;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("PendingSales");
+        sb.append("{id=").append(id);
+        sb.append(", day=").append(day);
+        sb.append(", categoryId=").append(categoryId);
+        sb.append(", itemId=").append(itemId);
+        sb.append(", quantity=").append(quantity);
+        sb.append(", amountInCents=").append(amountInCents);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -15,6 +15,7 @@ import java.util.List;
  */
 
 @Entity
+@Cacheable
 @NamedQueries({
         // TODO fetch doesn't work with GlassFish @NamedQuery(name = Product.FIND_BY_CATEGORY_NAME, query = "SELECT p FROM Product p LEFT JOIN FETCH p.items WHERE p.category.name = :pname"),
         @NamedQuery(name = Product.FIND_BY_CATEGORY_NAME, query = "SELECT p FROM Product p WHERE p.category.name = :pname"),
@@ -28,7 +29,7 @@ public class Product {
     // ======================================
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ids")
     private Long id;
     @Column(nullable = false, length = 30)
     @NotNull
@@ -65,6 +66,15 @@ public class Product {
         this.category = category;
     }
 
+    /**
+     * Detached copy of the product, without its category and its items
+     */
+    public Product(Product product) {
+        this.id = product.getId();
+        this.name = product.getName();
+        this.description = product.getDescription();
+    }
+
     // ======================================
     // =         Getters & setters          =
     // ======================================
@@ -0,0 +1,161 @@
+package org.agoncal.application.petstore.domain;
+
+import javax.persistence.*;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Sales of an item on a day, kept up to date as orders are written so that reports never read the order
+ *         tables. The category is part of the key as it is the one of the item when it was sold.
+ */
+
+@Entity
+@Table(name = "t_sales")
+@IdClass(SalesKey.class)
+@NamedQueries({
+        @NamedQuery(name = SalesAggregate.SUM_BY_DAY, query = "SELECT s.day, SUM(s.quantity), SUM(s.amountInCents), SUM(s.orderLines) FROM SalesAggregate s WHERE s.day BETWEEN :from AND :to GROUP BY s.day ORDER BY s.day"),
+        @NamedQuery(name = SalesAggregate.SUM_BY_CATEGORY, query = "SELECT s.categoryId, SUM(s.quantity), SUM(s.amountInCents), SUM(s.orderLines) FROM SalesAggregate s WHERE s.day BETWEEN :from AND :to GROUP BY s.categoryId ORDER BY s.categoryId"),
+        @NamedQuery(name = SalesAggregate.SUM_BY_ITEM, query = "SELECT s.itemId, SUM(s.quantity), SUM(s.amountInCents), SUM(s.orderLines) FROM SalesAggregate s WHERE s.day BETWEEN :from AND :to GROUP BY s.itemId ORDER BY s.itemId")
+})
+public class SalesAggregate {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Id
+    @Column(name = "sales_day")
+    @Temporal(TemporalType.DATE)
+    private Date day;
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    @Column(nullable = false)
+    private long quantity;
+    @Column(name = "amount_cents", nullable = false)
+    private long amountInCents;
+    @Column(name = "order_lines", nullable = false)
+    private long orderLines;
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    public static final String SUM_BY_DAY = "SalesAggregate.sumByDay";
+    public static final String SUM_BY_CATEGORY = "SalesAggregate.sumByCategory";
+    public static final String SUM_BY_ITEM = "SalesAggregate.sumByItem";
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    public SalesAggregate() {
+    }
+
+    public SalesAggregate(SalesKey key) {
+        this.day = key.getDay();
+        this.categoryId = key.getCategoryId();
+        this.itemId = key.getItemId();
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * @return the key of the sales of the line, on the day of its order
+     */
+    public static SalesKey keyOf(Date orderDate, OrderLine orderLine) {
+        Calendar day = Calendar.getInstance();
+        day.setTime(orderDate);
+        day.set(Calendar.HOUR_OF_DAY, 0);
+        day.set(Calendar.MINUTE, 0);
+        day.set(Calendar.SECOND, 0);
+        day.set(Calendar.MILLISECOND, 0);
+        Item item = orderLine.getItem();
+        return new SalesKey(day.getTime(), item.getProduct().getCategory().getId(), item.getId());
+    }
+
+    public void add(PendingSales sales) {
+        quantity += sales.getQuantity();
+        amountInCents += sales.getAmountInCents();
+        orderLines++;
+    }
+
+    public void add(SalesAggregate sales) {
+        quantity += sales.quantity;
+        amountInCents += sales.amountInCents;
+        orderLines += sales.orderLines;
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public SalesKey getKey() {
+        return new SalesKey(day, categoryId, itemId);
+    }
+
+    public Date getDay() {
+        return day;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public long getAmountInCents() {
+        return amountInCents;
+    }
+
+    public long getOrderLines() {
+        return orderLines;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SalesAggregate)) return false;
+
+        SalesAggregate that = (SalesAggregate) o;
+
+        return getKey().equals(that.getKey());
+    }
+
+    @Override
+    public int hashCode() {
+        return getKey().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("SalesAggregate");
+        sb.append("{day=").append(day);
+        sb.append(", categoryId=").append(categoryId);
+        sb.append(", itemId=").append(itemId);
+        sb.append(", quantity=").append(quantity);
+        sb.append(", amountInCents=").append(amountInCents);
+        sb.append(", orderLines=").append(orderLines);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package org.agoncal.application.petstore.domain;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Primary key of the sales aggregates: a day, a category and an item
+ */
+
+public class SalesKey implements Serializable {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private Date day;
+    private Long categoryId;
+    private Long itemId;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    public SalesKey() {
+    }
+
+    public SalesKey(Date day, Long categoryId, Long itemId) {
+        this.day = day;
+        this.categoryId = categoryId;
+        this.itemId = itemId;
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public Date getDay() {
+        return day;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SalesKey)) return false;
+
+        SalesKey salesKey = (SalesKey) o;
+
+        if (!day.equals(salesKey.day)) return false;
+        if (!categoryId.equals(salesKey.categoryId)) return false;
+        if (!itemId.equals(salesKey.itemId)) return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = day.hashCode();
+        result = 31 * result + categoryId.hashCode();
+        result = 31 * result + itemId.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("SalesKey");
+        sb.append("{day=").append(day);
+        sb.append(", categoryId=").append(categoryId);
+        sb.append(", itemId=").append(itemId);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package org.agoncal.application.petstore.domain;
+
+import javax.persistence.*;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Units of an item left in the warehouse. Items without a stock are not tracked and can always be ordered.
+ */
+
+@Entity
+@Table(name = "t_stock")
+@NamedQueries({
+        @NamedQuery(name = Stock.FIND_ALL, query = "SELECT s FROM Stock s"),
+        @NamedQuery(name = Stock.FIND_BY_ITEM_IDS, query = "SELECT s FROM Stock s WHERE s.itemId IN :itemIds")
+})
+public class Stock {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    @Column(nullable = false)
+    private int quantity;
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    public static final String FIND_ALL = "Stock.findAll";
+    public static final String FIND_BY_ITEM_IDS = "Stock.findByItemIds";
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    public Stock() {
+    }
+
+    public Stock(Long itemId, int quantity) {
+        this.itemId = itemId;
+        this.quantity = quantity;
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    public void add(int units) {
+        quantity += units;
+    }
+
+    public void remove(int units) {
+        quantity -= units;
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Stock)) return false;
+
+        Stock stock = (Stock) o;
+
+        if (!itemId.equals(stock.itemId)) return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return itemId.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("Stock");
+        sb.append("{itemId=").append(itemId);
+        sb.append(", quantity=").append(quantity);
+        sb.append('}');
+        return sb.toString();
+    }
+}
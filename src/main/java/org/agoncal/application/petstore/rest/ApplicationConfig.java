@@ -21,7 +21,10 @@ public class ApplicationConfig extends Application {
     @Override
     public Set<Class<?>> getClasses() {
         Set<Class<?>> classes = new HashSet<Class<?>>();
+        classes.add(CartRestService.class);
         classes.add(CatalogRestService.class);
+        classes.add(OrderRestService.class);
+        classes.add(ReportRestService.class);
         return classes;
     }
 }
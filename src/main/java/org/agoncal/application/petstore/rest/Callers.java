@@ -0,0 +1,65 @@
+package org.agoncal.application.petstore.rest;
+
+import org.agoncal.application.petstore.domain.Customer;
+import org.agoncal.application.petstore.service.CustomerService;
+
+import javax.ejb.EJBException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import java.security.Principal;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Callers of the REST services. A customer is never named by the request, it is the one authenticated by the
+ *         container: an anonymous caller is asked for its credentials (401).
+ */
+
+final class Callers {
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    private Callers() {
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    static Customer customer(SecurityContext securityContext, CustomerService customerService) {
+        Principal principal = authenticated(securityContext);
+        try {
+            return customerService.findCustomer(principal.getName());
+        } catch (EJBException e) {
+            // Authenticated by the container but not a customer
+            throw new WebApplicationException(Response.Status.FORBIDDEN);
+        }
+    }
+
+    /**
+     * The container already checks the roles of web.xml, this also holds when the service is called another way
+     */
+    static void checkRole(SecurityContext securityContext, String role) {
+        authenticated(securityContext);
+        if (!securityContext.isUserInRole(role))
+            throw new WebApplicationException(Response.Status.FORBIDDEN);
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private static Principal authenticated(SecurityContext securityContext) {
+        Principal principal = securityContext.getUserPrincipal();
+        if (principal == null)
+            throw new WebApplicationException(Response.status(Response.Status.UNAUTHORIZED)
+                    .header(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"petstore\"")
+                    .build());
+        return principal;
+    }
+}
@@ -0,0 +1,183 @@
+package org.agoncal.application.petstore.rest;
+
+import org.agoncal.application.petstore.domain.CreditCard;
+import org.agoncal.application.petstore.domain.Customer;
+import org.agoncal.application.petstore.exception.ValidationException;
+import org.agoncal.application.petstore.service.CartStore;
+import org.agoncal.application.petstore.service.CartView;
+import org.agoncal.application.petstore.service.CustomerService;
+import org.agoncal.application.petstore.service.OrderSnapshot;
+import org.agoncal.application.petstore.util.Loggable;
+
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.inject.Inject;
+import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.UriInfo;
+import java.io.Serializable;
+import java.net.URI;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Shopping carts for the clients that don't keep a web session, like the mobile app. A cart is created empty
+ *         and then identified by the opaque token of its URI, it can be shared by several devices. Every change
+ *         answers with the whole cart and its total. A cart expires once it is left unused for a while (404). Changes
+ *         that can't be made, like units out of stock or a price that has changed before the checkout, are refused
+ *         with a 409 and their reason. A cart is held by the node that created it, the node named at the end of its
+ *         token: a request that reaches another node is answered with a 421, for the balancer to route it by token.
+ */
+
+@Loggable
+@Path("/cart")
+@Singleton
+@Lock(LockType.READ)
+public class CartRestService implements Serializable {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    // Misdirected Request, the cart is held by another node
+    private static final int MISDIRECTED_REQUEST = 421;
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private CartStore cartStore;
+
+    @Inject
+    private CustomerService customerService;
+
+    @Context
+    private UriInfo uriInfo;
+
+    // ======================================
+    // =          Business methods          =
+    // ======================================
+
+    /**
+     * Creates an empty cart, 503 when the store is full
+     */
+    @POST
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response createCart() {
+        String token = cartStore.create();
+        if (token == null)
+            throw new WebApplicationException(Response.Status.SERVICE_UNAVAILABLE);
+        URI uri = uriInfo.getAbsolutePathBuilder().path(token).build();
+        return Response.created(uri).entity(cartStore.find(token)).build();
+    }
+
+    @GET
+    @Path("/{token}")
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response findCart(@PathParam("token") String token) {
+        checkRoute(token);
+        return ok(cartStore.find(token));
+    }
+
+    @DELETE
+    @Path("/{token}")
+    public Response discardCart(@PathParam("token") String token) {
+        checkRoute(token);
+        if (!cartStore.discard(token))
+            throw new WebApplicationException(Response.Status.NOT_FOUND);
+        return Response.noContent().build();
+    }
+
+    /**
+     * Adds units of an item, one when no quantity is given
+     */
+    @POST
+    @Path("/{token}/items/{itemId}")
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response addItem(@PathParam("token") String token, @PathParam("itemId") Long itemId, @QueryParam("quantity") @DefaultValue("1") int quantity) {
+        checkRoute(token);
+        if (quantity <= 0)
+            throw new WebApplicationException(Response.Status.BAD_REQUEST);
+        try {
+            return ok(cartStore.add(token, itemId, quantity));
+        } catch (ValidationException e) {
+            return conflict(e);
+        }
+    }
+
+    /**
+     * Sets the quantity of an item, 0 removes it
+     */
+    @PUT
+    @Path("/{token}/items/{itemId}")
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response setQuantity(@PathParam("token") String token, @PathParam("itemId") Long itemId, @QueryParam("quantity") Integer quantity) {
+        checkRoute(token);
+        if (quantity == null || quantity < 0)
+            throw new WebApplicationException(Response.Status.BAD_REQUEST);
+        try {
+            return ok(cartStore.setQuantity(token, itemId, quantity));
+        } catch (ValidationException e) {
+            return conflict(e);
+        }
+    }
+
+    @DELETE
+    @Path("/{token}/items/{itemId}")
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response removeItem(@PathParam("token") String token, @PathParam("itemId") Long itemId) {
+        checkRoute(token);
+        return ok(cartStore.remove(token, itemId));
+    }
+
+    /**
+     * Orders the cart for the authenticated customer with the credit card of the request. The order is created (201)
+     * and the cart is gone. The cart itself can be filled anonymously
+     */
+    @POST
+    @Path("/{token}/checkout")
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response checkout(@PathParam("token") String token, @Context SecurityContext securityContext, CreditCard creditCard) {
+        checkRoute(token);
+        Customer customer = Callers.customer(securityContext, customerService);
+        if (creditCard == null)
+            throw new WebApplicationException(Response.Status.BAD_REQUEST);
+
+        OrderSnapshot order;
+        try {
+            order = cartStore.checkout(token, customer, creditCard);
+        } catch (ValidationException e) {
+            return conflict(e);
+        }
+        if (order == null)
+            throw new WebApplicationException(Response.Status.NOT_FOUND);
+        URI uri = uriInfo.getBaseUriBuilder().path(OrderRestService.class).path(String.valueOf(order.getId())).build();
+        return Response.created(uri).entity(order).build();
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private void checkRoute(String token) {
+        if (!cartStore.isLocal(token))
+            throw new WebApplicationException(Response.status(MISDIRECTED_REQUEST).type(MediaType.TEXT_PLAIN).entity("The cart is held by another node").build());
+    }
+
+    private Response ok(CartView cart) {
+        if (cart == null)
+            throw new WebApplicationException(Response.Status.NOT_FOUND);
+        return Response.ok(cart).build();
+    }
+
+    private Response conflict(ValidationException e) {
+        return Response.status(Response.Status.CONFLICT).type(MediaType.TEXT_PLAIN).entity(e.getMessage()).build();
+    }
+}
@@ -0,0 +1,178 @@
+package org.agoncal.application.petstore.rest;
+
+import org.agoncal.application.petstore.service.ItemView;
+import org.agoncal.application.petstore.service.ProductView;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Writes the views of items or products element by element, in XML or JSON, straight to the response. They
+ *         are read forward only from the collection they are given, the immutable views of the catalog snapshot, so
+ *         neither the document nor a copy of the catalog is built in memory and the client starts receiving it
+ *         right away.
+ */
+
+public class CatalogExport implements StreamingOutput {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    // Number of elements written between two flushes of the response
+    private static final int FLUSH_INTERVAL = 100;
+
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final String collectionName;
+    private final String elementName;
+    private final Iterable<?> views;
+    private final boolean json;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    public CatalogExport(String collectionName, String elementName, Iterable<?> views, boolean json) {
+        this.collectionName = collectionName;
+        this.elementName = elementName;
+        this.views = views;
+        this.json = json;
+    }
+
+    // ======================================
+    // =          Business methods          =
+    // ======================================
+
+    @Override
+    public void write(OutputStream output) throws IOException, WebApplicationException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, "UTF-8"));
+        if (json)
+            writeJson(writer);
+        else
+            writeXml(writer);
+        writer.flush();
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private void writeJson(Writer writer) throws IOException {
+        writer.write('[');
+        int count = 0;
+        for (Object view : views) {
+            if (count > 0)
+                writer.write(',');
+            writer.write('{');
+            boolean first = true;
+            for (Map.Entry<String, Object> field : fields(view).entrySet()) {
+                if (field.getValue() == null)
+                    continue;
+                if (!first)
+                    writer.write(',');
+                writeJsonString(writer, field.getKey());
+                writer.write(':');
+                if (field.getValue() instanceof Number)
+                    writer.write(field.getValue().toString());
+                else
+                    writeJsonString(writer, field.getValue().toString());
+                first = false;
+            }
+            writer.write('}');
+            if (++count % FLUSH_INTERVAL == 0)
+                writer.flush();
+        }
+        writer.write(']');
+    }
+
+    private void writeXml(Writer writer) throws IOException {
+        try {
+            XMLStreamWriter xml = XML_OUTPUT_FACTORY.createXMLStreamWriter(writer);
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement(collectionName);
+            int count = 0;
+            for (Object view : views) {
+                xml.writeStartElement(elementName);
+                for (Map.Entry<String, Object> field : fields(view).entrySet()) {
+                    if (field.getValue() == null)
+                        continue;
+                    xml.writeStartElement(field.getKey());
+                    xml.writeCharacters(field.getValue().toString());
+                    xml.writeEndElement();
+                }
+                xml.writeEndElement();
+                if (++count % FLUSH_INTERVAL == 0)
+                    xml.flush();
+            }
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static Map<String, Object> fields(Object view) {
+        Map<String, Object> fields = new LinkedHashMap<String, Object>();
+        if (view instanceof ItemView) {
+            ItemView item = (ItemView) view;
+            fields.put("id", item.getId());
+            fields.put("name", item.getName());
+            fields.put("description", item.getDescription());
+            fields.put("unitCost", item.getUnitCost());
+            fields.put("imagePath", item.getImagePath());
+            fields.put("productId", item.getProductId());
+        } else if (view instanceof ProductView) {
+            ProductView product = (ProductView) view;
+            fields.put("id", product.getId());
+            fields.put("name", product.getName());
+            fields.put("description", product.getDescription());
+            fields.put("categoryId", product.getCategoryId());
+        }
+        return fields;
+    }
+
+    private static void writeJsonString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20)
+                        writer.write(String.format("\\u%04x", (int) c));
+                    else
+                        writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,212 @@
+package org.agoncal.application.petstore.rest;
+
+import org.agoncal.application.petstore.exception.ValidationException;
+import org.agoncal.application.petstore.service.CatalogRecord;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.*;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Reads catalog records one at a time from a supplier file, the counterpart of CatalogExport. In XML every
+ *         child of the root element is a record named after its type (category, product or item) with one element
+ *         per field. In JSON the records are flat objects, either in an array or one per line (NDJSON), with an
+ *         optional type field. Records without a type are of the default one.
+ */
+
+public class CatalogImportReader {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final CatalogRecord.Type defaultType;
+    private final XMLStreamReader xml;
+    private final Reader json;
+    private int count;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    public CatalogImportReader(InputStream input, boolean json, CatalogRecord.Type defaultType) throws IOException {
+        this.defaultType = defaultType;
+        if (json) {
+            this.json = new BufferedReader(new InputStreamReader(input, "UTF-8"));
+            this.xml = null;
+        } else {
+            this.json = null;
+            try {
+                this.xml = XML_INPUT_FACTORY.createXMLStreamReader(input);
+                this.xml.nextTag();
+            } catch (XMLStreamException e) {
+                throw new ValidationException("Malformed document: " + e.getMessage());
+            }
+        }
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * @return the next record, null at the end of the input
+     * @throws ValidationException if the input is malformed, the following records can't be read
+     */
+    public CatalogRecord next() throws IOException {
+        Map<String, String> fields = new LinkedHashMap<String, String>();
+        String type = json != null ? nextJsonObject(fields) : nextXmlElement(fields);
+        if (type == null)
+            return null;
+
+        try {
+            return new CatalogRecord(++count, CatalogRecord.Type.valueOf(type.toUpperCase(Locale.ENGLISH)), fields);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unknown type " + type + " of record " + count);
+        }
+    }
+
+    /**
+     * @return number of records read so far
+     */
+    public int getCount() {
+        return count;
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private String nextXmlElement(Map<String, String> fields) {
+        try {
+            if (xml.nextTag() == XMLStreamConstants.END_ELEMENT)
+                return null;
+
+            String type = xml.getLocalName();
+            while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                fields.put(name, xml.getElementText());
+            }
+            return type;
+        } catch (XMLStreamException e) {
+            throw new ValidationException("Malformed record " + (count + 1) + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Skips what separates two objects (white spaces, commas and the brackets of an array) and reads the next one
+     */
+    private String nextJsonObject(Map<String, String> fields) throws IOException {
+        int c = json.read();
+        while (c == '[' || c == ']' || c == ',' || Character.isWhitespace(c)) {
+            c = json.read();
+        }
+        if (c < 0)
+            return null;
+        if (c != '{')
+            throw malformed("'{' expected");
+
+        c = skipWhitespaces(json.read());
+        while (c != '}') {
+            if (c != '"')
+                throw malformed("field name expected");
+            String name = readJsonString();
+            if (skipWhitespaces(json.read()) != ':')
+                throw malformed("':' expected");
+            c = skipWhitespaces(json.read());
+            if (c == '"') {
+                fields.put(name, readJsonString());
+                c = json.read();
+            } else {
+                StringBuilder value = new StringBuilder();
+                while (c >= 0 && c != ',' && c != '}' && !Character.isWhitespace(c)) {
+                    if (c == '{' || c == '[')
+                        throw malformed("nested values are not supported");
+                    value.append((char) c);
+                    c = json.read();
+                }
+                if (!value.toString().equals("null"))
+                    fields.put(name, value.toString());
+            }
+            c = skipWhitespaces(c);
+            if (c == ',')
+                c = skipWhitespaces(json.read());
+            else if (c != '}')
+                throw malformed("',' or '}' expected");
+        }
+
+        String type = fields.remove("type");
+        return type != null ? type : defaultType.name();
+    }
+
+    private String readJsonString() throws IOException {
+        StringBuilder value = new StringBuilder();
+        int c = json.read();
+        while (c != '"') {
+            if (c < 0)
+                throw malformed("unterminated string");
+            if (c == '\\') {
+                c = json.read();
+                switch (c) {
+                    case 'b':
+                        c = '\b';
+                        break;
+                    case 'f':
+                        c = '\f';
+                        break;
+                    case 'n':
+                        c = '\n';
+                        break;
+                    case 'r':
+                        c = '\r';
+                        break;
+                    case 't':
+                        c = '\t';
+                        break;
+                    case 'u':
+                        char[] hex = new char[4];
+                        for (int i = 0; i < hex.length; i++) {
+                            hex[i] = (char) json.read();
+                        }
+                        try {
+                            c = Integer.parseInt(new String(hex), 16);
+                        } catch (NumberFormatException e) {
+                            throw malformed("invalid unicode escape");
+                        }
+                        break;
+                    default:
+                        if (c < 0)
+                            throw malformed("unterminated string");
+                }
+            }
+            value.append((char) c);
+            c = json.read();
+        }
+        return value.toString();
+    }
+
+    private int skipWhitespaces(int c) throws IOException {
+        while (c >= 0 && Character.isWhitespace(c)) {
+            c = json.read();
+        }
+        return c;
+    }
+
+    private ValidationException malformed(String reason) {
+        return new ValidationException("Malformed record " + (count + 1) + ": " + reason);
+    }
+}
@@ -0,0 +1,99 @@
+package org.agoncal.application.petstore.rest;
+
+import org.agoncal.application.petstore.service.CatalogRecord;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Outcome of a catalog import: how many records were created and why the others failed. When the input
+ *         is malformed, the import stops and the reason is given as the error.
+ */
+
+@XmlRootElement(name = "import")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class CatalogImportReport {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private int created;
+    private int failed;
+    private String error;
+    @XmlElement(name = "failure")
+    private List<Failure> failures = new ArrayList<Failure>();
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    public void add(List<CatalogRecord> records) {
+        for (CatalogRecord record : records) {
+            if (record.getError() == null) {
+                created++;
+            } else {
+                failed++;
+                failures.add(new Failure(record.getNumber(), record.getError()));
+            }
+        }
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    // ======================================
+    // =            Inner Classes           =
+    // ======================================
+
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class Failure {
+        private int record;
+        private String message;
+
+        // Needed by JAXB
+        private Failure() {
+        }
+
+        public Failure(int record, String message) {
+            this.record = record;
+            this.message = message;
+        }
+
+        public int getRecord() {
+            return record;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -3,28 +3,53 @@ package org.agoncal.application.petstore.rest;
 import org.agoncal.application.petstore.domain.Category;
 import org.agoncal.application.petstore.domain.Item;
 import org.agoncal.application.petstore.domain.Product;
+import org.agoncal.application.petstore.exception.ValidationException;
+import org.agoncal.application.petstore.service.CatalogCache;
+import org.agoncal.application.petstore.service.CatalogRecord;
 import org.agoncal.application.petstore.service.CatalogService;
+import org.agoncal.application.petstore.service.CategoryView;
+import org.agoncal.application.petstore.service.ItemView;
+import org.agoncal.application.petstore.service.ProductView;
+import org.agoncal.application.petstore.util.ConfigProperty;
+import org.agoncal.application.petstore.util.ExceptionUtils;
 import org.agoncal.application.petstore.util.Loggable;
 
 import javax.annotation.ManagedBean;
+import javax.ejb.EJBException;
 import javax.ejb.Lock;
 import javax.ejb.LockType;
 import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
 import javax.inject.Inject;
 import javax.ws.rs.*;
+import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.core.Variant;
 import javax.xml.bind.JAXBElement;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * @author Antonio Goncalves
  *         http://www.antoniogoncalves.org
  *         --
+ *         Catalog reads carry a strong ETag made of the catalog version and the media type, so a client that
+ *         sends it back in If-None-Match gets a 304 as long as nothing has changed, without the catalog being read.
+ *         Reads send flat views of the entities, built once per catalog version, writes still take the entities.
  */
 
 @Loggable
@@ -33,6 +58,12 @@ import java.util.List;
 @Lock(LockType.READ)
 public class CatalogRestService implements Serializable {
 
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    private static final String NDJSON = "application/x-ndjson";
+
     // ======================================
     // =             Attributes             =
     // ======================================
@@ -40,25 +71,73 @@ public class CatalogRestService implements Serializable {
     @Inject
     private CatalogService catalogService;
 
+    @Inject
+    private CatalogCache catalogCache;
+
     @Context
     private UriInfo uriInfo;
 
+    @Context
+    private Request request;
+
+    @Inject
+    @ConfigProperty("catalogPageSize")
+    private Integer defaultPageSize;
+
+    @Inject
+    @ConfigProperty("catalogMaxPageSize")
+    private Integer maxPageSize;
+
+    @Inject
+    @ConfigProperty("catalogMaxAge")
+    private Integer maxAge;
+
+    @Inject
+    @ConfigProperty("catalogImportChunkSize")
+    private Integer importChunkSize;
+
     // ======================================
     // =          Business methods          =
     // ======================================
 
+    /**
+     * Pages are ordered by id. When there are more categories, the Link header points to the next page with an
+     * opaque after cursor.
+     */
     @GET
     @Path("/categories")
     @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    public List<Category> findAllCategories() {
-        return catalogService.findAllCategories();
+    public Response findAllCategories(@QueryParam("after") String after, @QueryParam("limit") Integer limit) {
+        int pageSize = pageSize(limit);
+        Long afterId = Paging.fromCursor(after);
+        EntityTag tag = catalogTag(negotiatedType());
+        Response notModified = notModified(tag);
+        if (notModified != null)
+            return notModified;
+
+        List<CategoryView> categories = catalogService.findCategoryViews(afterId, pageSize + 1);
+        Long lastId = null;
+        if (categories.size() > pageSize) {
+            categories = categories.subList(0, pageSize);
+            lastId = categories.get(pageSize - 1).getId();
+        }
+        return page(new GenericEntity<List<CategoryView>>(categories) {
+        }, lastId, pageSize, tag);
     }
 
     @GET
     @Path("/category/{id}")
     @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    public Category findCategory(@PathParam("id") Long categoryId) {
-        return catalogService.findCategory(categoryId);
+    public Response findCategory(@PathParam("id") Long categoryId) {
+        EntityTag tag = catalogTag(negotiatedType());
+        Response notModified = notModified(tag);
+        if (notModified != null)
+            return notModified;
+
+        CategoryView category = catalogService.findCategoryView(categoryId);
+        if (category == null)
+            return Response.noContent().build();
+        return cached(Response.ok(category), tag).build();
     }
 
     @POST
@@ -89,15 +168,66 @@ public class CatalogRestService implements Serializable {
     @GET
     @Path("/products")
     @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    public List<Product> findAllProducts() {
-        return catalogService.findAllProducts();
+    public Response findAllProducts(@QueryParam("after") String after, @QueryParam("limit") Integer limit) {
+        int pageSize = pageSize(limit);
+        Long afterId = Paging.fromCursor(after);
+        EntityTag tag = catalogTag(negotiatedType());
+        Response notModified = notModified(tag);
+        if (notModified != null)
+            return notModified;
+
+        List<ProductView> products = catalogService.findProductViews(afterId, pageSize + 1);
+        Long lastId = null;
+        if (products.size() > pageSize) {
+            products = products.subList(0, pageSize);
+            lastId = products.get(pageSize - 1).getId();
+        }
+        return page(new GenericEntity<List<ProductView>>(products) {
+        }, lastId, pageSize, tag);
+    }
+
+    /**
+     * Streams all the products, for feed consumers that need the whole catalog in one go
+     */
+    @GET
+    @Path("/products/export")
+    @Produces(MediaType.APPLICATION_XML)
+    public Response exportProductsAsXml() {
+        EntityTag tag = catalogTag(MediaType.APPLICATION_XML_TYPE);
+        Response notModified = notModified(tag);
+        if (notModified != null)
+            return notModified;
+
+        StreamingOutput export = new CatalogExport("products", "product", catalogService.findAllProductViews(), false);
+        return cached(Response.ok(export), tag).build();
+    }
+
+    @GET
+    @Path("/products/export")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response exportProductsAsJson() {
+        EntityTag tag = catalogTag(MediaType.APPLICATION_JSON_TYPE);
+        Response notModified = notModified(tag);
+        if (notModified != null)
+            return notModified;
+
+        StreamingOutput export = new CatalogExport("products", "product", catalogService.findAllProductViews(), true);
+        return cached(Response.ok(export), tag).build();
     }
 
     @GET
     @Path("/product/{id}")
     @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    public Product findProduct(@PathParam("id") Long productId) {
-        return catalogService.findProduct(productId);
+    public Response findProduct(@PathParam("id") Long productId) {
+        EntityTag tag = catalogTag(negotiatedType());
+        Response notModified = notModified(tag);
+        if (notModified != null)
+            return notModified;
+
+        ProductView product = catalogService.findProductView(productId);
+        if (product == null)
+            return Response.noContent().build();
+        return cached(Response.ok(product), tag).build();
     }
 
     @POST
@@ -128,15 +258,115 @@ public class CatalogRestService implements Serializable {
     @GET
     @Path("/items")
     @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    public List<Item> findAllItems() {
-        return catalogService.findAllItems();
+    public Response findAllItems(@QueryParam("after") String after, @QueryParam("limit") Integer limit) {
+        int pageSize = pageSize(limit);
+        Long afterId = Paging.fromCursor(after);
+        EntityTag tag = catalogTag(negotiatedType());
+        Response notModified = notModified(tag);
+        if (notModified != null)
+            return notModified;
+
+        List<ItemView> items = catalogService.findItemViews(afterId, pageSize + 1);
+        Long lastId = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            lastId = items.get(pageSize - 1).getId();
+        }
+        return page(new GenericEntity<List<ItemView>>(items) {
+        }, lastId, pageSize, tag);
+    }
+
+    /**
+     * Streams all the items, for feed consumers that need the whole catalog in one go
+     */
+    @GET
+    @Path("/items/export")
+    @Produces(MediaType.APPLICATION_XML)
+    public Response exportItemsAsXml() {
+        EntityTag tag = catalogTag(MediaType.APPLICATION_XML_TYPE);
+        Response notModified = notModified(tag);
+        if (notModified != null)
+            return notModified;
+
+        StreamingOutput export = new CatalogExport("items", "item", catalogService.findAllItemViews(), false);
+        return cached(Response.ok(export), tag).build();
+    }
+
+    @GET
+    @Path("/items/export")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response exportItemsAsJson() {
+        EntityTag tag = catalogTag(MediaType.APPLICATION_JSON_TYPE);
+        Response notModified = notModified(tag);
+        if (notModified != null)
+            return notModified;
+
+        StreamingOutput export = new CatalogExport("items", "item", catalogService.findAllItemViews(), true);
+        return cached(Response.ok(export), tag).build();
+    }
+
+    /**
+     * Imports categories, products and items in chunks, each one committed in a transaction of its own. A
+     * product without a categoryId belongs to the last category before it, an item without a productId to the
+     * last product before it. Records that can't be imported are reported and don't prevent the others from being.
+     */
+    @POST
+    @Path("/items/batch")
+    @Consumes({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON, NDJSON})
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public CatalogImportReport importItems(InputStream input, @Context HttpHeaders headers) throws IOException {
+        // @Consumes only filters the requests that do have a content type
+        MediaType mediaType = headers.getMediaType();
+        if (mediaType == null)
+            throw new WebApplicationException(Response.Status.UNSUPPORTED_MEDIA_TYPE);
+        boolean json = !mediaType.getSubtype().endsWith("xml");
+        CatalogImportReport report = new CatalogImportReport();
+        List<CatalogRecord> chunk = new ArrayList<CatalogRecord>(importChunkSize);
+        CatalogRecord category = null;
+        CatalogRecord product = null;
+        try {
+            CatalogImportReader reader = new CatalogImportReader(input, json, CatalogRecord.Type.ITEM);
+            CatalogRecord record;
+            while ((record = reader.next()) != null) {
+                switch (record.getType()) {
+                    case CATEGORY:
+                        category = record;
+                        product = null;
+                        break;
+                    case PRODUCT:
+                        record.setParent(category);
+                        product = record;
+                        break;
+                    default:
+                        record.setParent(product);
+                }
+                chunk.add(record);
+                if (chunk.size() == importChunkSize) {
+                    importChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+        } catch (ValidationException e) {
+            report.setError(e.getMessage());
+        }
+        importChunk(chunk, report);
+        return report;
     }
 
     @GET
     @Path("/item/{id}")
     @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
-    public Item findItem(@PathParam("id") Long itemId) {
-        return catalogService.findItem(itemId);
+    public Response findItem(@PathParam("id") Long itemId) {
+        EntityTag tag = catalogTag(negotiatedType());
+        Response notModified = notModified(tag);
+        if (notModified != null)
+            return notModified;
+
+        ItemView item = catalogService.findItemView(itemId);
+        if (item == null)
+            return Response.noContent().build();
+        return cached(Response.ok(item), tag).build();
     }
 
     @POST
@@ -164,4 +394,83 @@ public class CatalogRestService implements Serializable {
         return Response.noContent().build();
     }
 
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private int pageSize(Integer limit) {
+        return Paging.pageSize(limit, defaultPageSize, maxPageSize);
+    }
+
+    /**
+     * When a chunk is rolled back (a database constraint, not a validation error), its records are imported one
+     * by one to find out which ones fail
+     */
+    private void importChunk(List<CatalogRecord> chunk, CatalogImportReport report) {
+        if (chunk.isEmpty())
+            return;
+
+        try {
+            catalogService.importRecords(chunk);
+        } catch (EJBException e) {
+            for (CatalogRecord record : chunk) {
+                record.reset();
+            }
+            for (CatalogRecord record : chunk) {
+                try {
+                    catalogService.importRecords(Collections.singletonList(record));
+                } catch (EJBException e1) {
+                    record.reset();
+                    record.setError(ExceptionUtils.getRootCause(e1).getMessage());
+                }
+            }
+        }
+        report.add(chunk);
+    }
+
+    private Response page(GenericEntity<?> entity, Long lastId, int pageSize, EntityTag tag) {
+        Response.ResponseBuilder builder = cached(Response.ok(entity), tag);
+        if (lastId != null) {
+            URI next = uriInfo.getRequestUriBuilder()
+                    .replaceQueryParam("after", Paging.toCursor(lastId))
+                    .replaceQueryParam("limit", pageSize)
+                    .build();
+            builder.header("Link", "<" + next + ">; rel=\"next\"");
+        }
+        return builder.build();
+    }
+
+    /**
+     * The tag is read before the catalog so it can be older than the content, never newer: at worst the client
+     * downloads the same content again on its next request. It is a hash of the content, so every node gives the
+     * same tag for the same catalog. It is read from the cache, a 304 neither goes through the CatalogService nor
+     * loads the catalog
+     */
+    private EntityTag catalogTag(MediaType mediaType) {
+        String tag = catalogCache.getTag();
+        if (tag == null)
+            tag = catalogService.getCatalogTag();
+        return new EntityTag(tag + "-" + mediaType.getSubtype());
+    }
+
+    private MediaType negotiatedType() {
+        List<Variant> variants = Variant.mediaTypes(MediaType.APPLICATION_XML_TYPE, MediaType.APPLICATION_JSON_TYPE).add().build();
+        Variant variant = request.selectVariant(variants);
+        return variant != null ? variant.getMediaType() : MediaType.APPLICATION_XML_TYPE;
+    }
+
+    /**
+     * @return a 304 response if the client already has the current version, null otherwise
+     */
+    private Response notModified(EntityTag tag) {
+        Response.ResponseBuilder builder = request.evaluatePreconditions(tag);
+        return builder != null ? cached(builder, tag).build() : null;
+    }
+
+    private Response.ResponseBuilder cached(Response.ResponseBuilder builder, EntityTag tag) {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setMaxAge(maxAge);
+        return builder.tag(tag).cacheControl(cacheControl).header("Vary", "Accept");
+    }
+
 }
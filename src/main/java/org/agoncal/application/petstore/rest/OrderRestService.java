@@ -0,0 +1,157 @@
+package org.agoncal.application.petstore.rest;
+
+import org.agoncal.application.petstore.security.RolePrincipal;
+import org.agoncal.application.petstore.service.CustomerService;
+import org.agoncal.application.petstore.service.OrderExportService;
+import org.agoncal.application.petstore.service.OrderLineView;
+import org.agoncal.application.petstore.service.OrderService;
+import org.agoncal.application.petstore.service.OrderSnapshot;
+import org.agoncal.application.petstore.service.OrderSummary;
+import org.agoncal.application.petstore.util.ConfigProperty;
+import org.agoncal.application.petstore.util.Days;
+import org.agoncal.application.petstore.util.Loggable;
+
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.inject.Inject;
+import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
+import java.io.*;
+import java.net.URI;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Order history of the authenticated customer. The orders are listed as summaries, newest first, an order and
+ *         its lines are read one at a time from the order cache. All the orders of a period can be exported by the
+ *         finance role only.
+ */
+
+@Loggable
+@Path("/orders")
+@Singleton
+@Lock(LockType.READ)
+public class OrderRestService implements Serializable {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private OrderService orderService;
+
+    @Inject
+    private CustomerService customerService;
+
+    @Inject
+    private OrderExportService orderExportService;
+
+    @Context
+    private UriInfo uriInfo;
+
+    @Inject
+    @ConfigProperty("orderHistoryPageSize")
+    private Integer defaultPageSize;
+
+    @Inject
+    @ConfigProperty("orderHistoryMaxPageSize")
+    private Integer maxPageSize;
+
+    // ======================================
+    // =          Business methods          =
+    // ======================================
+
+    /**
+     * When there are older orders, the Link header points to the next page with an opaque before cursor
+     */
+    @GET
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response findOrders(@QueryParam("before") String before, @QueryParam("limit") Integer limit, @Context SecurityContext securityContext) {
+        int pageSize = Paging.pageSize(limit, defaultPageSize, maxPageSize);
+        Long beforeId = Paging.fromCursor(before);
+
+        List<OrderSummary> orders = orderService.findOrders(Callers.customer(securityContext, customerService), beforeId, pageSize + 1);
+        Response.ResponseBuilder builder = Response.ok();
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            URI next = uriInfo.getRequestUriBuilder()
+                    .replaceQueryParam("before", Paging.toCursor(orders.get(pageSize - 1).getId()))
+                    .replaceQueryParam("limit", pageSize)
+                    .build();
+            builder.header("Link", "<" + next + ">; rel=\"next\"");
+        }
+        return builder.entity(new GenericEntity<List<OrderSummary>>(orders) {
+        }).build();
+    }
+
+    /**
+     * Lines of the orders passed from one day to another, both included (yyyy-MM-dd), as CSV for the finance. The rows
+     * are streamed as they are read from the database. They name the customers, the caller must have the finance role
+     */
+    @GET
+    @Path("/export")
+    @Produces("text/csv")
+    public Response exportOrders(@QueryParam("from") String from, @QueryParam("to") String to, @Context SecurityContext securityContext) {
+        Callers.checkRole(securityContext, RolePrincipal.FINANCE);
+        final Date fromDay = Days.parse(from);
+        final Date toDay = Days.parse(to);
+        if (fromDay == null || toDay == null || fromDay.after(toDay))
+            throw new WebApplicationException(Response.Status.BAD_REQUEST);
+
+        StreamingOutput export = new StreamingOutput() {
+            @Override
+            public void write(OutputStream output) throws IOException, WebApplicationException {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(output, "UTF-8"));
+                try {
+                    orderExportService.exportOrders(fromDay, toDay, writer);
+                } catch (SQLException e) {
+                    throw new WebApplicationException(e);
+                }
+            }
+        };
+        return Response.ok(export)
+                .header("Content-Disposition", "attachment; filename=\"orders-" + from + "-" + to + ".csv\"")
+                .build();
+    }
+
+    /**
+     * An order that does not exist, or that is not one of the customer's, is not found (404)
+     */
+    @GET
+    @Path("/{id}")
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response findOrder(@PathParam("id") Long orderId, @Context SecurityContext securityContext) {
+        return Response.ok(findOrderSnapshot(orderId, securityContext)).build();
+    }
+
+    @GET
+    @Path("/{id}/lines")
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response findOrderLines(@PathParam("id") Long orderId, @Context SecurityContext securityContext) {
+        OrderSnapshot order = findOrderSnapshot(orderId, securityContext);
+        return Response.ok(new GenericEntity<List<OrderLineView>>(order.getOrderLines()) {
+        }).build();
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private OrderSnapshot findOrderSnapshot(Long orderId, SecurityContext securityContext) {
+        OrderSnapshot order = orderService.findOrderSnapshot(Callers.customer(securityContext, customerService), orderId);
+        if (order == null)
+            throw new WebApplicationException(Response.Status.NOT_FOUND);
+        return order;
+    }
+}
@@ -0,0 +1,50 @@
+package org.agoncal.application.petstore.rest;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Keyset pagination parameters shared by the REST services. The cursor is an id in base 36, clients are not
+ *         supposed to build it themselves.
+ */
+
+final class Paging {
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    private Paging() {
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    static int pageSize(Integer limit, int defaultPageSize, int maxPageSize) {
+        if (limit == null)
+            return defaultPageSize;
+        if (limit < 1)
+            throw new WebApplicationException(Response.Status.BAD_REQUEST);
+
+        return Math.min(limit, maxPageSize);
+    }
+
+    static Long fromCursor(String cursor) {
+        if (cursor == null)
+            return null;
+
+        try {
+            return Long.valueOf(cursor, Character.MAX_RADIX);
+        } catch (NumberFormatException e) {
+            throw new WebApplicationException(Response.Status.BAD_REQUEST);
+        }
+    }
+
+    static String toCursor(Long id) {
+        return Long.toString(id, Character.MAX_RADIX);
+    }
+}
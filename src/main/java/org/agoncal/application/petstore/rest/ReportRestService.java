@@ -0,0 +1,73 @@
+package org.agoncal.application.petstore.rest;
+
+import org.agoncal.application.petstore.service.ReportService;
+import org.agoncal.application.petstore.service.SalesReportLine;
+import org.agoncal.application.petstore.util.Days;
+import org.agoncal.application.petstore.util.Loggable;
+
+import javax.ejb.Lock;
+import javax.ejb.LockType;
+import javax.ejb.Singleton;
+import javax.inject.Inject;
+import javax.ws.rs.*;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Reports for the dashboards. They are read from the aggregates kept up to date as orders are written, never
+ *         from the order tables.
+ */
+
+@Loggable
+@Path("/reports")
+@Singleton
+@Lock(LockType.READ)
+public class ReportRestService implements Serializable {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private ReportService reportService;
+
+    // ======================================
+    // =          Business methods          =
+    // ======================================
+
+    /**
+     * Sales from one day to another, both included (yyyy-MM-dd), grouped by day (the default), category or item
+     */
+    @GET
+    @Path("/sales")
+    @Produces({MediaType.APPLICATION_XML, MediaType.APPLICATION_JSON})
+    public Response findSales(@QueryParam("from") String from, @QueryParam("to") String to, @QueryParam("groupBy") @DefaultValue("day") String groupBy) {
+        Date fromDay = Days.parse(from);
+        Date toDay = Days.parse(to);
+        if (fromDay == null || toDay == null || fromDay.after(toDay))
+            throw new WebApplicationException(Response.Status.BAD_REQUEST);
+
+        List<SalesReportLine> sales = reportService.findSales(fromDay, toDay, toGroupBy(groupBy));
+        return Response.ok(new GenericEntity<List<SalesReportLine>>(sales) {
+        }).build();
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private ReportService.GroupBy toGroupBy(String groupBy) {
+        try {
+            return ReportService.GroupBy.valueOf(groupBy.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new WebApplicationException(Response.Status.BAD_REQUEST);
+        }
+    }
+}
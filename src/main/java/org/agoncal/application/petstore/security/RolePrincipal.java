@@ -0,0 +1,73 @@
+package org.agoncal.application.petstore.security;
+
+import java.io.Serializable;
+import java.security.Principal;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Role granted by the SimpleLoginModule, the roles are declared in web.xml.
+ */
+
+public class RolePrincipal implements Principal, Serializable {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    // Every authenticated customer
+    public static final String CUSTOMER = "customer";
+
+    // Customers allowed to export the orders, named by the financeLogins option of the login module
+    public static final String FINANCE = "finance";
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final String name;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    public RolePrincipal(String name) {
+        this.name = name;
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RolePrincipal)) return false;
+
+        RolePrincipal that = (RolePrincipal) o;
+
+        if (!name.equals(that.name)) return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "RolePrincipal{name='" + name + "'}";
+    }
+}
@@ -16,7 +16,13 @@ import javax.security.auth.callback.NameCallback;
 import javax.security.auth.callback.PasswordCallback;
 import javax.security.auth.login.LoginException;
 import javax.security.auth.spi.LoginModule;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author blep
@@ -30,8 +36,17 @@ public class SimpleLoginModule implements LoginModule {
     // =             Attributes             =
     // ======================================
 
+    private Subject subject;
+
     private CallbackHandler callbackHandler;
 
+    // Login of the customer once authenticated, and the principals it is given on commit
+    private String login;
+    private final List<Principal> principals = new ArrayList<Principal>();
+
+    // Logins given the finance role, comma separated in the financeLogins option
+    private final Set<String> financeLogins = new HashSet<String>();
+
     private CustomerService customerService;
 
     private BeanManager beanManager;
@@ -62,7 +77,11 @@ public class SimpleLoginModule implements LoginModule {
 
     @Override
     public void initialize(Subject subject, CallbackHandler callbackHandler, Map<String, ?> stringMap, Map<String, ?> stringMap1) {
+        this.subject = subject;
         this.callbackHandler = callbackHandler;
+        Object logins = stringMap1.get("financeLogins");
+        if (logins != null)
+            financeLogins.addAll(Arrays.asList(logins.toString().trim().split("\\s*,\\s*")));
         getCustomerService();
     }
 
@@ -83,6 +102,7 @@ public class SimpleLoginModule implements LoginModule {
                 throw new LoginException("Authentication failed");
             }
 
+            login = username;
             return true;
         } catch (Exception e) {
             e.printStackTrace();
@@ -90,18 +110,33 @@ public class SimpleLoginModule implements LoginModule {
         }
     }
 
+    /**
+     * The subject gets the login of the customer and the customer role, plus the finance role if it is one of the
+     * finance logins
+     */
     @Override
     public boolean commit() throws LoginException {
+        if (login == null)
+            return false;
+
+        principals.add(new UserPrincipal(login));
+        principals.add(new RolePrincipal(RolePrincipal.CUSTOMER));
+        if (financeLogins.contains(login))
+            principals.add(new RolePrincipal(RolePrincipal.FINANCE));
+        subject.getPrincipals().addAll(principals);
         return true;
     }
 
     @Override
     public boolean abort() throws LoginException {
-        return true;
+        return logout();
     }
 
     @Override
     public boolean logout() throws LoginException {
+        subject.getPrincipals().removeAll(principals);
+        principals.clear();
+        login = null;
         return true;
     }
 }
@@ -0,0 +1,64 @@
+package org.agoncal.application.petstore.security;
+
+import java.io.Serializable;
+import java.security.Principal;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Login of the customer authenticated by the SimpleLoginModule. It is the caller principal of the REST
+ *         services (see the JAASRealm of META-INF/context.xml).
+ */
+
+public class UserPrincipal implements Principal, Serializable {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final String name;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    public UserPrincipal(String name) {
+        this.name = name;
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UserPrincipal)) return false;
+
+        UserPrincipal that = (UserPrincipal) o;
+
+        if (!name.equals(that.name)) return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal{name='" + name + "'}";
+    }
+}
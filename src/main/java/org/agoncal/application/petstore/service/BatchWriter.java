@@ -0,0 +1,134 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.util.ExceptionUtils;
+
+import javax.ejb.EJBException;
+import javax.ejb.TimerConfig;
+import javax.ejb.TimerService;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Writes what a singleton gathers in memory by batches, every few milliseconds, from the interval timer of the
+ *         singleton. There is only one writer at a time: a timeout is skipped while the previous batches are still
+ *         being written, a flush waits for them. A batch that can't be written is kept and written first with the
+ *         next flush, unless the subclass deals with its failure otherwise.
+ *
+ * @param <B> batch taken from the singleton, written in one transaction
+ */
+
+public abstract class BatchWriter<B> {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final Logger logger;
+
+    // What is written, for the log
+    private final String description;
+
+    private final Lock writer = new ReentrantLock();
+
+    // Batch that could not be written, guarded by the writer lock
+    private B retry;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    protected BatchWriter(Logger logger, String description) {
+        this.logger = logger;
+        this.description = description;
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * Creates the interval timer of the singleton, whose timeout method calls onTimeout
+     */
+    public void start(TimerService timerService, int flushInterval) {
+        timerService.createIntervalTimer(flushInterval, flushInterval, new TimerConfig(null, false));
+    }
+
+    public void onTimeout() {
+        if (writer.tryLock()) {
+            try {
+                drain();
+            } finally {
+                writer.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes all the pending batches now
+     *
+     * @return the number of elements written
+     */
+    public int flush() {
+        writer.lock();
+        try {
+            return drain();
+        } finally {
+            writer.unlock();
+        }
+    }
+
+    // ======================================
+    // =          Protected Methods         =
+    // ======================================
+
+    /**
+     * @return the next batch to write, null if there is nothing left
+     */
+    protected abstract B take();
+
+    /**
+     * Writes the batch in one transaction
+     *
+     * @return the number of elements written
+     */
+    protected abstract int write(B batch);
+
+    /**
+     * The transaction of the batch has been rolled back, the batch is written again with the next flush
+     *
+     * @return the number of elements of the batch written in the end
+     */
+    protected int failed(B batch, Throwable cause) {
+        logger.log(Level.WARNING, description + " could not be written, retrying with the next flush", cause);
+        retry = batch;
+        return 0;
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private int drain() {
+        int written = 0;
+        while (true) {
+            B batch = retry != null ? retry : take();
+            retry = null;
+            if (batch == null)
+                return written;
+
+            try {
+                written += write(batch);
+            } catch (EJBException e) {
+                written += failed(batch, ExceptionUtils.getRootCause(e));
+                // Left for the next flush, the batches taken after it could not be written either
+                if (retry != null)
+                    return written;
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Item;
+import org.agoncal.application.petstore.domain.Money;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Line of the shopping cart: the id of the item, its quantity, the units reserved for it in the inventory and
+ *         its price when it was added. The item itself is not kept, it is looked up in the catalog for each view of
+ *         the cart. Lines are serialized by the cart that holds them.
+ */
+
+public class CartLine {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final Long itemId;
+    private int quantity;
+    private int reserved;
+    private long unitCostInCents;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    public CartLine(Item item, int quantity) {
+        this.itemId = item.getId();
+        this.quantity = quantity;
+        this.unitCostInCents = item.getPrice().getCents();
+    }
+
+    CartLine(Long itemId, int quantity, int reserved, long unitCostInCents) {
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.reserved = reserved;
+        this.unitCostInCents = unitCostInCents;
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    public Money getUnitCost() {
+        return Money.ofCents(unitCostInCents);
+    }
+
+    public Money getSubTotal() {
+        return Money.ofCents(getSubTotalInCents());
+    }
+
+    public long getSubTotalInCents() {
+        return unitCostInCents * quantity;
+    }
+
+    long getUnitCostInCents() {
+        return unitCostInCents;
+    }
+
+    /**
+     * Takes the current price of the item
+     *
+     * @return false if it was not the one of the cart
+     */
+    public boolean updatePrice(Item item) {
+        long current = item.getPrice().getCents();
+        if (current == unitCostInCents)
+            return true;
+        unitCostInCents = current;
+        return false;
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    /**
+     * @return the number of units of the item reserved in the inventory for this line
+     */
+    public int getReserved() {
+        return reserved;
+    }
+
+    public void setReserved(int reserved) {
+        this.reserved = reserved;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("CartLine");
+        sb.append("{itemId=").append(itemId);
+        sb.append(", quantity=").append(quantity);
+        sb.append(", reserved=").append(reserved);
+        sb.append(", unitCost=").append(getUnitCost());
+        sb.append('}');
+        return sb.toString();
+    }
+}
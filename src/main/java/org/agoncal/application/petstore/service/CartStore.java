@@ -0,0 +1,526 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.CartItem;
+import org.agoncal.application.petstore.domain.CreditCard;
+import org.agoncal.application.petstore.domain.Customer;
+import org.agoncal.application.petstore.domain.Item;
+import org.agoncal.application.petstore.domain.Order;
+import org.agoncal.application.petstore.exception.ValidationException;
+import org.agoncal.application.petstore.util.ConfigProperty;
+import org.agoncal.application.petstore.util.Loggable;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.*;
+import javax.inject.Inject;
+import java.io.*;
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Server side shopping carts, by opaque token: the carts of the REST API, and the web carts whose conversation
+ *         only holds the token. Each cart has its own lock: the updates of a cart shared by several devices are
+ *         applied one at a time, the carts of different customers never contend. The units of a cart are reserved in
+ *         the inventory. A cart that has not been used for a
+ *         while expires and its units are given back. Memory is bounded: there is a maximum number of carts, and
+ *         of lines per cart, a full store refuses new carts rather than evicting on the caller's thread.
+ *         <p/>
+ *         The carts are kept in the memory of the node that created them. Like the session ids of Tomcat, their token
+ *         ends with the jvmRoute of the node, after a dot: the balancer routes the requests of a cart by this suffix,
+ *         and a node tells the requests meant for another one apart instead of answering that the cart does not
+ *         exist. Without a jvmRoute the tokens have no suffix, for a single node.
+ *         <p/>
+ *         Most carts are abandoned, a campaign leaves many of them behind. Carts in use are kept on the heap, but
+ *         the ones left idle for a while are moved off the heap in their compact form, 24 bytes a line, to a region
+ *         of direct memory of a fixed size: the collector no longer has to go through them. A cart is moved back to
+ *         the heap as soon as it is used again. An idle cart that does not fit in the region is evicted.
+ */
+
+@Singleton
+@Startup
+@DependsOn("Inventory")
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+@Loggable
+public class CartStore {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    // Bytes of the blocks of the off-heap region, a block holds a cart of 5 lines
+    private static final int BLOCK_SIZE = 128;
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private CatalogService catalogService;
+
+    @Inject
+    private OrderService orderService;
+
+    @Inject
+    private Inventory inventory;
+
+    @Resource
+    private TimerService timerService;
+
+    @Inject
+    @ConfigProperty("cartTimeToLive")
+    private Integer timeToLive;
+
+    @Inject
+    @ConfigProperty("cartIdleTime")
+    private Integer idleTime;
+
+    @Inject
+    @ConfigProperty("cartSweepInterval")
+    private Integer sweepInterval;
+
+    @Inject
+    @ConfigProperty("cartStoreMaxCarts")
+    private Integer maxCarts;
+
+    @Inject
+    @ConfigProperty("cartMaxLines")
+    private Integer maxLines;
+
+    @Inject
+    @ConfigProperty("cartOffHeapMaxBytes")
+    private Integer offHeapMaxBytes;
+
+    private final ConcurrentMap<String, StoredCart> carts = new ConcurrentHashMap<String, StoredCart>();
+
+    // Carts created and not evicted yet, counted apart so that the maximum is never exceeded
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final SecureRandom random = new SecureRandom();
+
+    // jvmRoute of this node, null if there is a single node
+    private String route;
+
+    // Idle carts, in their compact form
+    private OffHeapRegion offHeap;
+    private final AtomicInteger offHeapSize = new AtomicInteger();
+
+    // ======================================
+    // =          Lifecycle Methods         =
+    // ======================================
+
+    @PostConstruct
+    private void start() {
+        offHeap = new OffHeapRegion(offHeapMaxBytes, BLOCK_SIZE);
+        route = System.getProperty("jvmRoute");
+        timerService.createIntervalTimer(sweepInterval, sweepInterval, new TimerConfig(null, false));
+    }
+
+    /**
+     * The carts are lost with the node, their units are given back to the inventory before it is stopped itself
+     */
+    @PreDestroy
+    private void stop() {
+        for (Map.Entry<String, StoredCart> entry : carts.entrySet()) {
+            StoredCart stored = entry.getValue();
+            synchronized (stored) {
+                if (!stored.evicted)
+                    evict(entry.getKey(), stored, true);
+            }
+        }
+    }
+
+    @Timeout
+    public void onTimeout() {
+        int evicted = sweep();
+        if (evicted > 0)
+            logger.fine(evicted + " carts evicted");
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * A full store is only swept by its timer, the expired carts make room for new ones then
+     *
+     * @return the token of a new empty cart, or null if the store is full
+     */
+    public String create() {
+        if (size.incrementAndGet() > maxCarts) {
+            size.decrementAndGet();
+            return null;
+        }
+        String token = new BigInteger(130, random).toString(32);
+        if (route != null)
+            token += "." + route;
+        carts.put(token, new StoredCart());
+        return token;
+    }
+
+    /**
+     * @return false if the cart was created by another node, it is not held here
+     */
+    public boolean isLocal(String token) {
+        int dot = token.lastIndexOf('.');
+        String tokenRoute = dot < 0 ? null : token.substring(dot + 1);
+        return route == null ? tokenRoute == null : route.equals(tokenRoute);
+    }
+
+    /**
+     * @return the cart or null if there is none, or it has expired
+     */
+    public CartView find(String token) {
+        StoredCart stored = carts.get(token);
+        if (stored == null)
+            return null;
+
+        synchronized (stored) {
+            if (!open(token, stored))
+                return null;
+            return view(token, stored.cart);
+        }
+    }
+
+    /**
+     * Adds units of the item, in a new line or in the one already holding it
+     *
+     * @return the cart or null if there is none, or it has expired
+     * @throws ValidationException if the item is unknown, if there are not enough units in stock or if the cart is
+     *                             full. Nothing is changed then
+     */
+    public CartView add(String token, Long itemId, int units) {
+        if (units <= 0)
+            throw new ValidationException("Invalid quantity");
+        Item item = item(itemId);
+
+        StoredCart stored = carts.get(token);
+        if (stored == null)
+            return null;
+
+        synchronized (stored) {
+            if (!open(token, stored))
+                return null;
+            CartLine cartLine = stored.cart.getLine(itemId);
+            update(stored.cart, item, cartLine == null ? units : cartLine.getQuantity() + units);
+            return view(token, stored.cart);
+        }
+    }
+
+    /**
+     * Sets the quantity of the item, a quantity of 0 removes it from the cart
+     *
+     * @return the cart or null if there is none, or it has expired
+     * @throws ValidationException if the item is unknown, if there are not enough units in stock or if the cart is
+     *                             full. Nothing is changed then
+     */
+    public CartView setQuantity(String token, Long itemId, int quantity) {
+        if (quantity < 0)
+            throw new ValidationException("Invalid quantity");
+        Item item = item(itemId);
+
+        StoredCart stored = carts.get(token);
+        if (stored == null)
+            return null;
+
+        synchronized (stored) {
+            if (!open(token, stored))
+                return null;
+            update(stored.cart, item, quantity);
+            return view(token, stored.cart);
+        }
+    }
+
+    /**
+     * @return the cart or null if there is none, or it has expired
+     */
+    public CartView remove(String token, Long itemId) {
+        if (itemId == null)
+            throw new ValidationException("Invalid id");
+
+        StoredCart stored = carts.get(token);
+        if (stored == null)
+            return null;
+
+        synchronized (stored) {
+            if (!open(token, stored))
+                return null;
+            CartLine cartLine = stored.cart.remove(itemId);
+            if (cartLine != null)
+                inventory.release(itemId, cartLine.getReserved());
+            return view(token, stored.cart);
+        }
+    }
+
+    /**
+     * Drops the cart and gives back its units
+     *
+     * @return false if there is no such cart
+     */
+    public boolean discard(String token) {
+        StoredCart stored = carts.get(token);
+        if (stored == null)
+            return false;
+
+        synchronized (stored) {
+            if (stored.evicted)
+                return false;
+            evict(token, stored, true);
+            return true;
+        }
+    }
+
+    /**
+     * Orders the cart. The prices are the ones the customer saw, a price that has changed since is taken by the cart
+     * and the order is refused, to be confirmed again. Once the order is accepted the cart is gone, its reserved units
+     * are the order's.
+     *
+     * @return the order or null if there is no such cart, or it has expired
+     * @throws ValidationException if the cart is empty, if one of its items is no longer sold or has a new price
+     */
+    public OrderSnapshot checkout(String token, Customer customer, CreditCard creditCard) {
+        StoredCart stored = carts.get(token);
+        if (stored == null)
+            return null;
+
+        synchronized (stored) {
+            if (!open(token, stored))
+                return null;
+            Order order = orderService.createOrder(customer, creditCard, cartItems(stored.cart));
+            evict(token, stored, false);
+            return orderService.findOrderSnapshot(customer, order.getId());
+        }
+    }
+
+    /**
+     * Evicts the carts that have not been used for longer than their time to live, and moves the ones that have been
+     * idle for a while off the heap. The idle carts that do not fit in the off-heap region are evicted as well.
+     *
+     * @return the number of carts evicted
+     */
+    public int sweep() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+        int full = 0;
+        for (Map.Entry<String, StoredCart> entry : carts.entrySet()) {
+            StoredCart stored = entry.getValue();
+            synchronized (stored) {
+                if (stored.evicted)
+                    continue;
+                if (expired(stored, now)) {
+                    evict(entry.getKey(), stored, true);
+                    evicted++;
+                } else if (stored.cart != null && now - stored.lastUsed > idleTime * 1000L && !moveOffHeap(stored)) {
+                    evict(entry.getKey(), stored, true);
+                    evicted++;
+                    full++;
+                }
+            }
+        }
+        if (full > 0)
+            logger.log(Level.WARNING, full + " idle carts evicted, the off-heap region of " + offHeap.getCapacity() + " bytes is full");
+        return evicted;
+    }
+
+    /**
+     * @return number of carts held
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    public int getMaxCarts() {
+        return maxCarts;
+    }
+
+    public int getMaxLines() {
+        return maxLines;
+    }
+
+    /**
+     * @return number of idle carts held off the heap
+     */
+    public int getOffHeapSize() {
+        return offHeapSize.get();
+    }
+
+    public long getOffHeapUsedBytes() {
+        return offHeap.getUsedBytes();
+    }
+
+    public long getOffHeapCapacity() {
+        return offHeap.getCapacity();
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    /**
+     * Has to be called with the cart locked
+     *
+     * @return false if the cart has been evicted or has just expired, it is used now and back on the heap otherwise
+     */
+    private boolean open(String token, StoredCart stored) {
+        if (stored.evicted)
+            return false;
+        long now = System.currentTimeMillis();
+        if (expired(stored, now)) {
+            evict(token, stored, true);
+            return false;
+        }
+        if (stored.cart == null)
+            moveOnHeap(stored);
+        stored.lastUsed = now;
+        return true;
+    }
+
+    /**
+     * Has to be called with the cart locked
+     *
+     * @return false if there is no room left for the cart in the off-heap region, nothing is moved then
+     */
+    private boolean moveOffHeap(StoredCart stored) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(stored.cart.getLength());
+        try {
+            stored.cart.writeTo(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        int block = offHeap.store(bytes.toByteArray());
+        if (block < 0)
+            return false;
+        stored.block = block;
+        stored.length = bytes.size();
+        stored.cart = null;
+        offHeapSize.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Has to be called with the cart locked
+     */
+    private void moveOnHeap(StoredCart stored) {
+        ShoppingCart cart = new ShoppingCart();
+        try {
+            cart.readFrom(new DataInputStream(new ByteArrayInputStream(offHeap.load(stored.block, stored.length))));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        offHeap.free(stored.block);
+        stored.cart = cart;
+        offHeapSize.decrementAndGet();
+    }
+
+    private boolean expired(StoredCart stored, long now) {
+        return now - stored.lastUsed > timeToLive * 1000L;
+    }
+
+    /**
+     * Has to be called with the cart locked
+     */
+    private void evict(String token, StoredCart stored, boolean release) {
+        stored.evicted = true;
+        if (carts.remove(token, stored))
+            size.decrementAndGet();
+        if (stored.cart == null)
+            moveOnHeap(stored);
+        if (release) {
+            for (CartLine cartLine : stored.cart.getLines()) {
+                inventory.release(cartLine.getItemId(), cartLine.getReserved());
+            }
+        }
+        stored.cart.clear();
+    }
+
+    private Item item(Long itemId) {
+        Item item = catalogService.findItem(itemId);
+        if (item == null)
+            throw new ValidationException("Unknown item " + itemId);
+        return item;
+    }
+
+    /**
+     * The reservation of the line is brought in line with its new quantity first, the line is only changed if the
+     * units could be reserved
+     */
+    private void update(ShoppingCart cart, Item item, int quantity) {
+        Long itemId = item.getId();
+        CartLine cartLine = cart.getLine(itemId);
+        if (quantity == 0) {
+            if (cartLine != null) {
+                cart.remove(itemId);
+                inventory.release(itemId, cartLine.getReserved());
+            }
+            return;
+        }
+        if (cartLine == null && cart.size() >= maxLines)
+            throw new ValidationException("A shopping cart holds " + maxLines + " lines at most");
+
+        int units = quantity - (cartLine == null ? 0 : cartLine.getReserved());
+        if (units > 0 && !inventory.reserve(itemId, units))
+            throw new ValidationException("Not enough " + item.getName() + " in stock, only " + inventory.getAvailable(itemId) + " more can be ordered");
+        if (units < 0)
+            inventory.release(itemId, -units);
+
+        if (cartLine == null)
+            cartLine = cart.add(item);
+        cartLine.setQuantity(quantity);
+        cartLine.setReserved(quantity);
+    }
+
+    private List<CartItem> cartItems(ShoppingCart cart) {
+        if (cart.isEmpty())
+            throw new ValidationException("Shopping cart is empty");
+
+        Map<Long, Item> items = catalogService.findItems(cart.getItemIds());
+        List<CartItem> cartItems = new ArrayList<CartItem>(cart.size());
+        boolean unchanged = true;
+        for (CartLine cartLine : cart.getLines()) {
+            Item item = items.get(cartLine.getItemId());
+            if (item == null)
+                throw new ValidationException("An item of the shopping cart is no longer available");
+            if (!cartLine.updatePrice(item))
+                unchanged = false;
+            cartItems.add(new CartItem(item, cartLine.getQuantity(), cartLine.getReserved()));
+        }
+        if (!unchanged)
+            throw new ValidationException("Prices of the shopping cart have changed");
+        return cartItems;
+    }
+
+    private CartView view(String token, ShoppingCart cart) {
+        return new CartView(token, cart, catalogService.findItems(cart.getItemIds()));
+    }
+
+    // ======================================
+    // =            Inner Classes           =
+    // ======================================
+
+    /**
+     * A cart and its state in the store, guarded by its own monitor. An idle cart is null, it is kept off the heap
+     * from the block then
+     */
+    private static class StoredCart {
+        private ShoppingCart cart = new ShoppingCart();
+        private int block;
+        private int length;
+        private long lastUsed = System.currentTimeMillis();
+        private boolean evicted;
+    }
+}
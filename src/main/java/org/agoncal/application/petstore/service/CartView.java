@@ -0,0 +1,90 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Item;
+
+import javax.xml.bind.annotation.*;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Flat and immutable copy of a cart of the CartStore, taken while it is locked. Lines come in the order the
+ *         items were added, at the prices of the cart. The name of an item that is no longer sold is left empty.
+ */
+
+@XmlRootElement(name = "cart")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class CartView {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final String token;
+    @XmlElementWrapper(name = "cartLines")
+    @XmlElement(name = "cartLine")
+    private final List<OrderLineView> cartLines;
+    private final BigDecimal total;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    // Needed by JAXB
+    private CartView() {
+        this.token = null;
+        this.cartLines = null;
+        this.total = null;
+    }
+
+    /**
+     * @param items the items of the cart as they are in the catalog
+     */
+    public CartView(String token, ShoppingCart cart, Map<Long, Item> items) {
+        this.token = token;
+        List<OrderLineView> lines = new ArrayList<OrderLineView>(cart.size());
+        for (CartLine cartLine : cart.getLines()) {
+            Item item = items.get(cartLine.getItemId());
+            lines.add(new OrderLineView(null, cartLine.getItemId(), item == null ? null : item.getName(), item == null ? null : item.getProduct().getName(),
+                    cartLine.getUnitCost().toBigDecimal(), cartLine.getQuantity(), cartLine.getSubTotal().toBigDecimal()));
+        }
+        this.cartLines = Collections.unmodifiableList(lines);
+        this.total = cart.getTotal().toBigDecimal();
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public String getToken() {
+        return token;
+    }
+
+    public List<OrderLineView> getCartLines() {
+        return cartLines;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("CartView");
+        sb.append("{token='").append(token).append('\'');
+        sb.append(", cartLines=").append(cartLines.size());
+        sb.append(", total=").append(total);
+        sb.append('}');
+        return sb.toString();
+    }
+}
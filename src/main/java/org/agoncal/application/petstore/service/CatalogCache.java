@@ -0,0 +1,174 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.util.ConfigProperty;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Holds the current catalog snapshot, copy-on-write. Readers only do a volatile read, writers never modify a
+ *         published snapshot: a catalog change makes it stale, and the first reader to see it loads a fresh one and
+ *         swaps the reference. The readers arriving meanwhile keep being served the stale snapshot rather than wait
+ *         for it or load the catalog too. Only before the first snapshot is published, as there is nothing to
+ *         serve yet, do they wait for it. Changes made on another node are only seen by this one once its snapshot
+ *         expires, catalogTimeToLive seconds after it was loaded.
+ */
+
+@ApplicationScoped
+public class CatalogCache {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    @ConfigProperty("catalogTimeToLive")
+    private Integer timeToLive;
+
+    private volatile CatalogSnapshot snapshot;
+    private volatile long version;
+
+    private final Lock loading = new ReentrantLock();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * @return the current snapshot, loaded by the given loader if it is stale or has expired. Only one reader loads
+     *         it at a time, the others get the snapshot published before
+     */
+    public CatalogSnapshot getSnapshot(Loader loader) {
+        CatalogSnapshot current = snapshot;
+        if (current != null && isFresh(current)) {
+            hits.incrementAndGet();
+            return current;
+        }
+
+        if (current != null) {
+            if (!loading.tryLock()) {
+                hits.incrementAndGet();
+                return current;
+            }
+        } else {
+            loading.lock();
+        }
+        try {
+            current = snapshot;
+            if (current != null && isFresh(current)) {
+                hits.incrementAndGet();
+                return current;
+            }
+
+            misses.incrementAndGet();
+            CatalogSnapshot loaded = loader.load(version);
+            publish(loaded);
+            return loaded;
+        } finally {
+            loading.unlock();
+        }
+    }
+
+    /**
+     * @return the catalog version, incremented on every change made on this node. A snapshot has to be loaded with
+     *         the version read before loading starts so it is stale at once if the catalog changes in the meantime
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the tag of the published snapshot, read without loading one, or null if none has been published yet.
+     *         Once a change makes the snapshot stale, or once it expires, the version is added to the tag: the
+     *         content it is sent with may already be the fresh one, which the client then downloads once more
+     */
+    public String getTag() {
+        CatalogSnapshot current = snapshot;
+        if (current == null)
+            return null;
+        return isFresh(current) ? current.getTag() : current.getTag() + "." + version;
+    }
+
+    /**
+     * @return number of reads served by a published snapshot
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of reads that had to load the catalog from the database
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+    }
+
+    /**
+     * Makes the current snapshot stale, it is served until a fresh one replaces it
+     */
+    public synchronized void invalidate() {
+        version++;
+    }
+
+    // ======================================
+    // =          Observer Methods          =
+    // ======================================
+
+    public void onCatalogChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) CatalogEvent event) {
+        invalidate();
+    }
+
+    /**
+     * Also on rollback, as a snapshot loaded inside the rolled back transaction could hold uncommitted data
+     */
+    public void onCatalogRollback(@Observes(during = TransactionPhase.AFTER_FAILURE) CatalogEvent event) {
+        invalidate();
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    /**
+     * @return true if no change was made since the snapshot was loaded and it has not expired
+     */
+    private boolean isFresh(CatalogSnapshot current) {
+        return current.getVersion() == version && System.currentTimeMillis() - current.getLoadedAt() < timeToLive * 1000L;
+    }
+
+    /**
+     * Swaps the snapshot, called by the only reader loading one. A change made while it was loading makes it
+     * stale at once, so the next reader loads it again
+     */
+    private synchronized void publish(CatalogSnapshot loaded) {
+        snapshot = loaded;
+    }
+
+    // ======================================
+    // =            Inner Classes           =
+    // ======================================
+
+    public interface Loader {
+
+        /**
+         * @return the whole catalog, read from the database, as of the given version
+         */
+        CatalogSnapshot load(long version);
+    }
+}
@@ -0,0 +1,61 @@
+package org.agoncal.application.petstore.service;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Fired by the CatalogService every time a category, a product or an item is created, updated or removed
+ */
+
+public class CatalogEvent {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    public enum Type {
+        CREATED, UPDATED, REMOVED
+    }
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final Type type;
+    private final Object entity;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    public CatalogEvent(Type type, Object entity) {
+        this.type = type;
+        this.entity = entity;
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public Type getType() {
+        return type;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("CatalogEvent");
+        sb.append("{type=").append(type);
+        sb.append(", entity=").append(entity);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,135 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Category;
+import org.agoncal.application.petstore.domain.Item;
+import org.agoncal.application.petstore.domain.Product;
+
+import java.util.Map;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         A category, a product or an item to import, as read from a supplier file. A product refers to its
+ *         category either by id or, when it has none, to the last category record before it. The same goes for an
+ *         item and its product. Once imported, the record holds the created entity or the reason it failed.
+ */
+
+public class CatalogRecord {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    public enum Type {
+        CATEGORY, PRODUCT, ITEM
+    }
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final int number;
+    private final Type type;
+    private final Map<String, String> fields;
+    private CatalogRecord parent;
+
+    private Object entity;
+    private String error;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    /**
+     * @param number position of the record in the file, starting at 1
+     * @param fields values by name, like the ones of the catalog export (name, description, unitCost,
+     *               imagePath, categoryId, productId)
+     */
+    public CatalogRecord(int number, Type type, Map<String, String> fields) {
+        this.number = number;
+        this.type = type;
+        this.fields = fields;
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    public String get(String field) {
+        String value = fields.get(field);
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
+
+    /**
+     * @return the id of the created entity, null if the record hasn't been imported
+     */
+    public Long getId() {
+        if (entity instanceof Category)
+            return ((Category) entity).getId();
+        if (entity instanceof Product)
+            return ((Product) entity).getId();
+        if (entity instanceof Item)
+            return ((Item) entity).getId();
+        return null;
+    }
+
+    /**
+     * Forgets the outcome of an import that has been rolled back
+     */
+    public void reset() {
+        entity = null;
+        error = null;
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public int getNumber() {
+        return number;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public CatalogRecord getParent() {
+        return parent;
+    }
+
+    public void setParent(CatalogRecord parent) {
+        this.parent = parent;
+    }
+
+    public Object getEntity() {
+        return entity;
+    }
+
+    public void setEntity(Object entity) {
+        this.entity = entity;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("CatalogRecord");
+        sb.append("{number=").append(number);
+        sb.append(", type=").append(type);
+        sb.append(", fields=").append(fields);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,237 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Category;
+import org.agoncal.application.petstore.domain.Item;
+import org.agoncal.application.petstore.domain.Product;
+
+import java.util.*;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         In-memory inverted index over the item name, product name, category name and item description. Every
+ *         term maps to the ids of the items it appears in, with the fields it appears in as a bit set which is also
+ *         the weight of the match. It is built once along with the catalog snapshot it indexes and never changes
+ *         afterwards, so it is read without any lock.
+ */
+
+public class CatalogSearchIndex {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    // Field weights, a term found in several fields sums them up
+    static final int ITEM_NAME = 8;
+    static final int PRODUCT_NAME = 4;
+    static final int CATEGORY_NAME = 2;
+    static final int DESCRIPTION = 1;
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<String, Map<Long, Integer>>();
+    private final Map<Long, Entry> items = new HashMap<Long, Entry>();
+    private final Map<Long, Entry> products = new HashMap<Long, Entry>();
+    private final Map<Long, Entry> categories = new HashMap<Long, Entry>();
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    public CatalogSearchIndex(Collection<Item> items) {
+        for (Item item : items) {
+            putItem(item);
+        }
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * Every word of the keyword has to be the prefix of a term of the item. Items are ranked by the weight of the
+     * fields they match in, whole words counting twice, then by category, product and item names.
+     *
+     * @return ids of the limit best matching items, best match first. Only they are sorted, the other matches are
+     *         dropped as soon as limit better ones have been found
+     */
+    public List<Long> search(String keyword, int limit) {
+        Set<String> words = tokenize(keyword).keySet();
+        if (words.isEmpty())
+            return Collections.emptyList();
+
+        Map<Long, Integer> scores = null;
+        for (String word : words) {
+            Map<Long, Integer> wordScores = new HashMap<Long, Integer>();
+            for (Map.Entry<String, Map<Long, Integer>> posting : postings.subMap(word, true, word + Character.MAX_VALUE, true).entrySet()) {
+                int boost = posting.getKey().equals(word) ? 2 : 1;
+                for (Map.Entry<Long, Integer> match : posting.getValue().entrySet()) {
+                    if (scores != null && !scores.containsKey(match.getKey()))
+                        continue;
+                    int score = match.getValue() * boost;
+                    Integer best = wordScores.get(match.getKey());
+                    if (best == null || best < score)
+                        wordScores.put(match.getKey(), score);
+                }
+            }
+            if (scores != null) {
+                for (Map.Entry<Long, Integer> wordScore : wordScores.entrySet()) {
+                    wordScore.setValue(wordScore.getValue() + scores.get(wordScore.getKey()));
+                }
+            }
+            scores = wordScores;
+            if (scores.isEmpty())
+                break;
+        }
+
+        // The worst of the best matches kept at the head of the queue
+        Comparator<Long> worstFirst = Collections.reverseOrder(new Ranking(scores));
+        PriorityQueue<Long> best = new PriorityQueue<Long>(Math.min(limit, scores.size()) + 1, worstFirst);
+        for (Long itemId : scores.keySet()) {
+            best.add(itemId);
+            if (best.size() > limit)
+                best.poll();
+        }
+        LinkedList<Long> ids = new LinkedList<Long>();
+        while (!best.isEmpty()) {
+            ids.addFirst(best.poll());
+        }
+        return ids;
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private void putCategory(Category category) {
+        if (!categories.containsKey(category.getId()))
+            categories.put(category.getId(), new Entry(null, category.getName(), tokenize(category.getName(), CATEGORY_NAME)));
+    }
+
+    private void putProduct(Product product) {
+        putCategory(product.getCategory());
+        if (!products.containsKey(product.getId()))
+            products.put(product.getId(), new Entry(product.getCategory().getId(), product.getName(), tokenize(product.getName(), PRODUCT_NAME)));
+    }
+
+    private void putItem(Item item) {
+        putProduct(item.getProduct());
+
+        Map<String, Integer> terms = tokenize(item.getName(), ITEM_NAME);
+        for (Map.Entry<String, Integer> term : tokenize(item.getDescription(), DESCRIPTION).entrySet()) {
+            addTerm(terms, term.getKey(), term.getValue());
+        }
+        items.put(item.getId(), new Entry(item.getProduct().getId(), item.getName(), terms));
+        post(item.getId());
+    }
+
+    /**
+     * All the terms of an item: its own ones and the ones of its product and category
+     */
+    private Map<String, Integer> termsOf(Long itemId) {
+        Entry item = items.get(itemId);
+        Entry product = products.get(item.parentId);
+        Entry category = categories.get(product.parentId);
+
+        Map<String, Integer> terms = new HashMap<String, Integer>(item.terms);
+        for (Map.Entry<String, Integer> term : product.terms.entrySet()) {
+            addTerm(terms, term.getKey(), term.getValue());
+        }
+        for (Map.Entry<String, Integer> term : category.terms.entrySet()) {
+            addTerm(terms, term.getKey(), term.getValue());
+        }
+        return terms;
+    }
+
+    private void post(Long itemId) {
+        for (Map.Entry<String, Integer> term : termsOf(itemId).entrySet()) {
+            Map<Long, Integer> posting = postings.get(term.getKey());
+            if (posting == null) {
+                posting = new HashMap<Long, Integer>();
+                postings.put(term.getKey(), posting);
+            }
+            posting.put(itemId, term.getValue());
+        }
+    }
+
+    private static Map<String, Integer> tokenize(String text) {
+        return tokenize(text, 0);
+    }
+
+    /**
+     * Splits the text into lower case words made of letters and digits
+     */
+    private static Map<String, Integer> tokenize(String text, int field) {
+        Map<String, Integer> terms = new HashMap<String, Integer>();
+        if (text == null)
+            return terms;
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addTerm(terms, text.substring(start, i).toLowerCase(Locale.ENGLISH), field);
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerm(Map<String, Integer> terms, String term, int fields) {
+        Integer existing = terms.get(term);
+        terms.put(term, existing == null ? fields : existing | fields);
+    }
+
+    // ======================================
+    // =            Inner Classes           =
+    // ======================================
+
+    /**
+     * An indexed item, product or category: its parent id, its name and its own terms
+     */
+    private static class Entry {
+        private final Long parentId;
+        private final String name;
+        private final Map<String, Integer> terms;
+
+        private Entry(Long parentId, String name, Map<String, Integer> terms) {
+            this.parentId = parentId;
+            this.name = name;
+            this.terms = terms;
+        }
+    }
+
+    /**
+     * Best score first, then by category, product and item names like the former LIKE query did
+     */
+    private class Ranking implements Comparator<Long> {
+        private final Map<Long, Integer> scores;
+
+        private Ranking(Map<Long, Integer> scores) {
+            this.scores = scores;
+        }
+
+        @Override
+        public int compare(Long id1, Long id2) {
+            int result = scores.get(id2).compareTo(scores.get(id1));
+            if (result != 0)
+                return result;
+
+            Entry item1 = items.get(id1);
+            Entry item2 = items.get(id2);
+            Entry product1 = products.get(item1.parentId);
+            Entry product2 = products.get(item2.parentId);
+            result = categories.get(product1.parentId).name.compareTo(categories.get(product2.parentId).name);
+            if (result == 0)
+                result = product1.name.compareTo(product2.name);
+            if (result == 0)
+                result = item1.name.compareTo(item2.name);
+            return result;
+        }
+    }
+}
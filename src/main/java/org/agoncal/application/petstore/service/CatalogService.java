@@ -4,14 +4,25 @@ import org.agoncal.application.petstore.domain.Category;
 import org.agoncal.application.petstore.domain.Item;
 import org.agoncal.application.petstore.domain.Product;
 import org.agoncal.application.petstore.exception.ValidationException;
+import org.agoncal.application.petstore.util.ConfigProperty;
 import org.agoncal.application.petstore.util.Loggable;
 
+import javax.annotation.Resource;
 import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
-import javax.persistence.TypedQuery;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.NoResultException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import java.io.Serializable;
-import java.util.List;
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.agoncal.application.petstore.service.CatalogEvent.Type.*;
 
 /**
  * @author Antonio Goncalves
@@ -30,6 +41,22 @@ public class CatalogService implements Serializable {
     @Inject
     private EntityManager em;
 
+    @Inject
+    private EntityManagerFactory emf;
+
+    @Inject
+    private CatalogCache catalogCache;
+
+    @Inject
+    private Event<CatalogEvent> catalogEvent;
+
+    @Inject
+    @ConfigProperty("catalogSearchMaxResults")
+    private Integer searchMaxResults;
+
+    @Resource
+    private Validator validator;
+
     // ======================================
     // =              Public Methods        =
     // ======================================
@@ -38,21 +65,52 @@ public class CatalogService implements Serializable {
         if (categoryId == null)
             throw new ValidationException("Invalid id");
 
-        return em.find(Category.class, categoryId);
+        return getSnapshot().findCategory(categoryId);
     }
 
+    /**
+     * Fetch plan of the products page: the category comes with its products and their items. The graph comes from
+     * the snapshot which is loaded in three statements, one per table, whatever the number of children
+     */
     public Category findCategory(String categoryName) {
         if (categoryName == null)
             throw new ValidationException("Invalid name");
 
-        TypedQuery<Category> typedQuery = em.createNamedQuery(Category.FIND_BY_NAME, Category.class);
-        typedQuery.setParameter("pname", categoryName);
-        return typedQuery.getSingleResult();
+        Category category = getSnapshot().findCategory(categoryName);
+        if (category == null)
+            throw new NoResultException("No category named " + categoryName);
+        return category;
     }
 
     public List<Category> findAllCategories() {
-        TypedQuery<Category> typedQuery = em.createNamedQuery(Category.FIND_ALL, Category.class);
-        return typedQuery.getResultList();
+        return getSnapshot().findAllCategories();
+    }
+
+    /**
+     * Keyset pagination: returns at most limit categories, ordered by id, following the one with the afterId id
+     */
+    public List<Category> findCategories(Long afterId, int limit) {
+        if (limit < 1)
+            throw new ValidationException("Invalid limit");
+
+        return getSnapshot().findCategories(afterId, limit);
+    }
+
+    /**
+     * Read model of the REST interface: same as findCategory but as a flat view
+     */
+    public CategoryView findCategoryView(Long categoryId) {
+        if (categoryId == null)
+            throw new ValidationException("Invalid id");
+
+        return getSnapshot().findCategoryView(categoryId);
+    }
+
+    public List<CategoryView> findCategoryViews(Long afterId, int limit) {
+        if (limit < 1)
+            throw new ValidationException("Invalid limit");
+
+        return getSnapshot().findCategoryViews(afterId, limit);
     }
 
     public Category createCategory(Category category) {
@@ -60,6 +118,7 @@ public class CatalogService implements Serializable {
             throw new ValidationException("Category object is null");
 
         em.persist(category);
+        catalogEvent.fire(new CatalogEvent(CREATED, category));
         return category;
     }
 
@@ -67,7 +126,9 @@ public class CatalogService implements Serializable {
         if (category == null)
             throw new ValidationException("Category object is null");
 
-        return em.merge(category);
+        category = em.merge(category);
+        catalogEvent.fire(new CatalogEvent(UPDATED, category));
+        return category;
     }
 
     public void removeCategory(Category category) {
@@ -75,6 +136,7 @@ public class CatalogService implements Serializable {
             throw new ValidationException("Category object is null");
 
         em.remove(em.merge(category));
+        catalogEvent.fire(new CatalogEvent(REMOVED, category));
     }
 
     public void removeCategory(Long categoryId) {
@@ -82,25 +144,56 @@ public class CatalogService implements Serializable {
     }
 
     public List<Product> findProducts(String categoryName) {
-        TypedQuery<Product> typedQuery = em.createNamedQuery(Product.FIND_BY_CATEGORY_NAME, Product.class);
-        typedQuery.setParameter("pname", categoryName);
-        return typedQuery.getResultList();
+        return getSnapshot().findProducts(categoryName);
     }
 
     public Product findProduct(Long productId) {
         if (productId == null)
             throw new ValidationException("Invalid id");
 
-        Product product = em.find(Product.class, productId);
-        if (product != null) {
-            product.getItems(); // TODO check lazy loading
-        }
+        return getSnapshot().findProduct(productId);
+    }
+
+    /**
+     * Fetch plan of the items page: the product with its category and its items initialized
+     */
+    public Product findProductWithItems(Long productId) {
+        Product product = findProduct(productId);
+        if (product == null)
+            throw new NoResultException("No product with id " + productId);
         return product;
     }
 
     public List<Product> findAllProducts() {
-        TypedQuery<Product> typedQuery = em.createNamedQuery(Product.FIND_ALL, Product.class);
-        return typedQuery.getResultList();
+        return getSnapshot().findAllProducts();
+    }
+
+    public List<Product> findProducts(Long afterId, int limit) {
+        if (limit < 1)
+            throw new ValidationException("Invalid limit");
+
+        return getSnapshot().findProducts(afterId, limit);
+    }
+
+    public ProductView findProductView(Long productId) {
+        if (productId == null)
+            throw new ValidationException("Invalid id");
+
+        return getSnapshot().findProductView(productId);
+    }
+
+    public List<ProductView> findProductViews(Long afterId, int limit) {
+        if (limit < 1)
+            throw new ValidationException("Invalid limit");
+
+        return getSnapshot().findProductViews(afterId, limit);
+    }
+
+    /**
+     * @return the views of all the products, the read-only list of the snapshot itself rather than a copy
+     */
+    public List<ProductView> findAllProductViews() {
+        return getSnapshot().findAllProductViews();
     }
 
     public Product createProduct(Product product) {
@@ -109,8 +202,11 @@ public class CatalogService implements Serializable {
 
         if (product.getCategory() != null && product.getCategory().getId() == null)
             em.persist(product.getCategory());
+        else if (product.getCategory() != null)
+            product.setCategory(em.find(Category.class, product.getCategory().getId()));
 
         em.persist(product);
+        catalogEvent.fire(new CatalogEvent(CREATED, product));
         return product;
     }
 
@@ -118,7 +214,9 @@ public class CatalogService implements Serializable {
         if (product == null)
             throw new ValidationException("Product object is null");
 
-        return em.merge(product);
+        product = em.merge(product);
+        catalogEvent.fire(new CatalogEvent(UPDATED, product));
+        return product;
     }
 
     public void removeProduct(Product product) {
@@ -126,6 +224,7 @@ public class CatalogService implements Serializable {
             throw new ValidationException("Product object is null");
 
         em.remove(em.merge(product));
+        catalogEvent.fire(new CatalogEvent(REMOVED, product));
     }
 
     public void removeProduct(Long productId) {
@@ -133,29 +232,82 @@ public class CatalogService implements Serializable {
     }
 
     public List<Item> findItems(Long productId) {
-
-        TypedQuery<Item> typedQuery = em.createNamedQuery(Item.FIND_BY_PRODUCT_ID, Item.class);
-        typedQuery.setParameter("productId", productId);
-        return typedQuery.getResultList();
+        return getSnapshot().findItems(productId);
     }
 
     public Item findItem(final Long itemId) {
         if (itemId == null)
             throw new ValidationException("Invalid id");
 
-        return em.find(Item.class, itemId);
+        return getSnapshot().findItem(itemId);
+    }
+
+    /**
+     * @return the items found by id, all from the same snapshot. Unknown ids are left out
+     */
+    public Map<Long, Item> findItems(final Collection<Long> itemIds) {
+        if (itemIds == null)
+            throw new ValidationException("Invalid ids");
+
+        Map<Long, Item> items = new HashMap<Long, Item>(itemIds.size() * 2);
+        for (Item item : getSnapshot().findItems(itemIds)) {
+            items.put(item.getId(), item);
+        }
+        return items;
     }
 
+    /**
+     * @return the catalogSearchMaxResults items best matching the keyword, from the index of the snapshot
+     */
     public List<Item> searchItems(String keyword) {
+        if (keyword == null)
+            throw new ValidationException("Invalid keyword");
 
-        TypedQuery<Item> typedQuery = em.createNamedQuery(Item.SEARCH, Item.class);
-        typedQuery.setParameter("keyword", "%" + keyword.toUpperCase() + "%");
-        return typedQuery.getResultList();
+        return getSnapshot().searchItems(keyword, searchMaxResults);
     }
 
     public List<Item> findAllItems() {
-        TypedQuery<Item> typedQuery = em.createNamedQuery(Item.FIND_ALL, Item.class);
-        return typedQuery.getResultList();
+        return getSnapshot().findAllItems();
+    }
+
+    /**
+     * Keyset pagination of the items, named apart from findItems(productId) which takes a Long too
+     */
+    public List<Item> findItemsAfter(Long afterId, int limit) {
+        if (limit < 1)
+            throw new ValidationException("Invalid limit");
+
+        return getSnapshot().findItemsAfter(afterId, limit);
+    }
+
+    /**
+     * @return the tag of the catalog content, the same on every node serving the same catalog. The snapshot is only
+     *         loaded if none has been published yet
+     */
+    public String getCatalogTag() {
+        String tag = catalogCache.getTag();
+        return tag != null ? tag : getSnapshot().getTag();
+    }
+
+    public ItemView findItemView(Long itemId) {
+        if (itemId == null)
+            throw new ValidationException("Invalid id");
+
+        return getSnapshot().findItemView(itemId);
+    }
+
+    public List<ItemView> findItemViews(Long afterId, int limit) {
+        if (limit < 1)
+            throw new ValidationException("Invalid limit");
+
+        return getSnapshot().findItemViews(afterId, limit);
+    }
+
+    /**
+     * @return the views of all the items, the read-only list of the snapshot itself rather than a copy
+     */
+    public List<ItemView> findAllItemViews() {
+        return getSnapshot().findAllItemViews();
     }
 
     public Item createItem(Item item) {
@@ -166,9 +318,13 @@ public class CatalogService implements Serializable {
             em.persist(item.getProduct());
             if (item.getProduct().getCategory() != null && item.getProduct().getCategory().getId() == null)
                 em.persist(item.getProduct().getCategory());
+        } else if (item.getProduct() != null) {
+            // The catalog hands out copies, which the persistence context can't tell from new products
+            item.setProduct(em.find(Product.class, item.getProduct().getId()));
         }
 
         em.persist(item);
+        catalogEvent.fire(new CatalogEvent(CREATED, item));
         return item;
     }
 
@@ -176,7 +332,9 @@ public class CatalogService implements Serializable {
         if (item == null)
             throw new ValidationException("Item object is null");
 
-        return em.merge(item);
+        item = em.merge(item);
+        catalogEvent.fire(new CatalogEvent(UPDATED, item));
+        return item;
     }
 
     public void removeItem(Item item) {
@@ -184,9 +342,117 @@ public class CatalogService implements Serializable {
             throw new ValidationException("Item object is null");
 
         em.remove(em.merge(item));
+        catalogEvent.fire(new CatalogEvent(REMOVED, item));
     }
 
     public void removeItem(Long itemId) {
         removeItem(findItem(itemId));
     }
+
+    /**
+     * Creates the categories, products and items of the records in a transaction of their own, the inserts being
+     * flushed together so the JDBC driver can batch them. A record that can't be imported gets an error and is
+     * skipped, the others are still created.
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public void importRecords(List<CatalogRecord> records) {
+        for (CatalogRecord record : records) {
+            Object entity;
+            try {
+                entity = toEntity(record);
+            } catch (ValidationException e) {
+                record.setError(e.getMessage());
+                continue;
+            }
+
+            Set<ConstraintViolation<Object>> violations = validator.validate(entity);
+            if (!violations.isEmpty()) {
+                ConstraintViolation<Object> violation = violations.iterator().next();
+                record.setError(violation.getPropertyPath() + " " + violation.getMessage());
+                continue;
+            }
+
+            em.persist(entity);
+            record.setEntity(entity);
+            catalogEvent.fire(new CatalogEvent(CREATED, entity));
+        }
+        em.flush();
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private Object toEntity(CatalogRecord record) {
+        switch (record.getType()) {
+            case CATEGORY:
+                return new Category(record.get("name"), record.get("description"));
+            case PRODUCT:
+                return new Product(record.get("name"), record.get("description"), parent(record, "categoryId", Category.class));
+            default:
+                BigDecimal unitCost = null;
+                if (record.get("unitCost") != null) {
+                    try {
+                        unitCost = new BigDecimal(record.get("unitCost"));
+                    } catch (NumberFormatException e) {
+                        throw new ValidationException("Invalid unitCost " + record.get("unitCost"));
+                    }
+                }
+                return new Item(record.get("name"), unitCost, record.get("imagePath"), parent(record, "productId", Product.class), record.get("description"));
+        }
+    }
+
+    /**
+     * The parent is either given by id or is the entity created by the parent record
+     */
+    private <T> T parent(CatalogRecord record, String idField, Class<T> type) {
+        String id = record.get(idField);
+        if (id != null) {
+            T parent;
+            try {
+                parent = em.find(type, Long.valueOf(id));
+            } catch (NumberFormatException e) {
+                throw new ValidationException("Invalid " + idField + " " + id);
+            }
+            if (parent == null)
+                throw new ValidationException("Unknown " + idField + " " + id);
+            return parent;
+        }
+
+        CatalogRecord parentRecord = record.getParent();
+        if (parentRecord == null)
+            throw new ValidationException("No " + idField + " and no record before to attach to");
+        if (parentRecord.getEntity() == null)
+            throw new ValidationException("Record " + parentRecord.getNumber() + " this one belongs to has not been imported");
+
+        // Parents created by a previous chunk are detached
+        Object parent = parentRecord.getEntity();
+        return em.contains(parent) ? type.cast(parent) : em.find(type, parentRecord.getId());
+    }
+
+    private CatalogSnapshot getSnapshot() {
+        return catalogCache.getSnapshot(new CatalogCache.Loader() {
+            @Override
+            public CatalogSnapshot load(long version) {
+                return loadSnapshot(version);
+            }
+        });
+    }
+
+    /**
+     * Loads the whole catalog in three queries with its own entity manager, so the entities are detached once
+     * loaded without touching the persistence context of the caller
+     */
+    private CatalogSnapshot loadSnapshot(long version) {
+        EntityManager loader = emf.createEntityManager();
+        try {
+            List<Category> categories = loader.createNamedQuery(Category.FIND_ALL, Category.class).getResultList();
+            List<Product> products = loader.createNamedQuery(Product.FIND_ALL, Product.class).getResultList();
+            List<Item> items = loader.createNamedQuery(Item.FIND_ALL, Item.class).getResultList();
+            loader.clear();
+            return new CatalogSnapshot(version, categories, products, items);
+        } finally {
+            loader.close();
+        }
+    }
 }
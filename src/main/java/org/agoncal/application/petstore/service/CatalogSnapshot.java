@@ -0,0 +1,468 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Category;
+import org.agoncal.application.petstore.domain.Item;
+import org.agoncal.application.petstore.domain.Product;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Immutable, fully loaded view of the catalog. The entities it holds never leave it: every read gets
+ *         copies of its own of the entities it asks for, that the caller is free to change, and changes go through
+ *         the CatalogService which replaces the snapshot as a whole. Categories, products and items are sorted by id
+ *         so they can be paged by key. Their flat views, for the REST interface, are immutable and built once along
+ *         with the snapshot and in the same order, and so is the search index of the items. The tag of the snapshot
+ *         is a hash of its content, so two nodes, or two loads of the same data, give the same tag.
+ */
+
+public class CatalogSnapshot {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final long version;
+    private final long loadedAt = System.currentTimeMillis();
+    private final String tag;
+
+    private final List<Category> categories;
+    private final long[] categoryIds;
+    private final Map<Long, Category> categoriesById;
+    private final Map<String, Category> categoriesByName;
+    private final List<CategoryView> categoryViews;
+
+    private final List<Product> products;
+    private final long[] productIds;
+    private final Map<Long, Product> productsById;
+    private final Map<String, List<Product>> productsByCategoryName;
+    private final List<ProductView> productViews;
+
+    private final List<Item> items;
+    private final long[] itemIds;
+    private final Map<Long, Item> itemsById;
+    private final Map<Long, List<Item>> itemsByProductId;
+    private final List<ItemView> itemViews;
+
+    private final CatalogSearchIndex searchIndex;
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    private static final Comparator<Product> PRODUCT_NAME = new Comparator<Product>() {
+        @Override
+        public int compare(Product p1, Product p2) {
+            return p1.getName().compareTo(p2.getName());
+        }
+    };
+
+    private static final Comparator<Item> ITEM_NAME = new Comparator<Item>() {
+        @Override
+        public int compare(Item i1, Item i2) {
+            return i1.getName().compareTo(i2.getName());
+        }
+    };
+
+    private static final Comparator<Category> CATEGORY_ID = new Comparator<Category>() {
+        @Override
+        public int compare(Category c1, Category c2) {
+            return c1.getId().compareTo(c2.getId());
+        }
+    };
+
+    private static final Comparator<Product> PRODUCT_ID = new Comparator<Product>() {
+        @Override
+        public int compare(Product p1, Product p2) {
+            return p1.getId().compareTo(p2.getId());
+        }
+    };
+
+    private static final Comparator<Item> ITEM_ID = new Comparator<Item>() {
+        @Override
+        public int compare(Item i1, Item i2) {
+            return i1.getId().compareTo(i2.getId());
+        }
+    };
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    /**
+     * Builds the indexes and wires the one-to-many sides of the graph (category products and product items)
+     * from the many-to-one sides, so the given entities must already be detached. Products and items whose parent
+     * has not been loaded, created while the catalog was read, are left out.
+     */
+    public CatalogSnapshot(long version, List<Category> categories, List<Product> products, List<Item> items) {
+        this.version = version;
+
+        Map<Long, Category> categoriesById = new HashMap<Long, Category>();
+        Map<String, Category> categoriesByName = new HashMap<String, Category>();
+        Map<Long, List<Product>> productsByCategoryId = new HashMap<Long, List<Product>>();
+        for (Category category : categories) {
+            categoriesById.put(category.getId(), category);
+            categoriesByName.put(category.getName(), category);
+            productsByCategoryId.put(category.getId(), new ArrayList<Product>());
+        }
+
+        Map<Long, Product> productsById = new HashMap<Long, Product>();
+        Map<Long, List<Item>> itemsByProductId = new HashMap<Long, List<Item>>();
+        List<Product> loadedProducts = new ArrayList<Product>(products.size());
+        for (Product product : products) {
+            List<Product> siblings = productsByCategoryId.get(product.getCategory().getId());
+            if (siblings == null)
+                continue;
+            product.setCategory(categoriesById.get(product.getCategory().getId()));
+            siblings.add(product);
+            productsById.put(product.getId(), product);
+            itemsByProductId.put(product.getId(), new ArrayList<Item>());
+            loadedProducts.add(product);
+        }
+        products = loadedProducts;
+
+        Map<Long, Item> itemsById = new HashMap<Long, Item>();
+        List<Item> loadedItems = new ArrayList<Item>(items.size());
+        for (Item item : items) {
+            List<Item> siblings = itemsByProductId.get(item.getProduct().getId());
+            if (siblings == null)
+                continue;
+            item.setProduct(productsById.get(item.getProduct().getId()));
+            siblings.add(item);
+            itemsById.put(item.getId(), item);
+            loadedItems.add(item);
+        }
+        items = loadedItems;
+
+        // Same ordering as the @OrderBy on the mapped collections
+        Map<String, List<Product>> productsByCategoryName = new HashMap<String, List<Product>>();
+        for (Category category : categories) {
+            List<Product> categoryProducts = sort(productsByCategoryId.get(category.getId()), PRODUCT_NAME);
+            category.setProducts(categoryProducts);
+            productsByCategoryName.put(category.getName(), categoryProducts);
+        }
+        for (Product product : products) {
+            List<Item> productItems = sort(itemsByProductId.get(product.getId()), ITEM_NAME);
+            product.setItems(productItems);
+            itemsByProductId.put(product.getId(), productItems);
+        }
+
+        this.categories = sort(new ArrayList<Category>(categories), CATEGORY_ID);
+        this.categoryIds = new long[categories.size()];
+        for (int i = 0; i < categoryIds.length; i++) {
+            categoryIds[i] = this.categories.get(i).getId();
+        }
+        this.categoriesById = Collections.unmodifiableMap(categoriesById);
+        this.categoriesByName = Collections.unmodifiableMap(categoriesByName);
+        this.products = sort(new ArrayList<Product>(products), PRODUCT_ID);
+        this.productIds = new long[products.size()];
+        for (int i = 0; i < productIds.length; i++) {
+            productIds[i] = this.products.get(i).getId();
+        }
+        this.productsById = Collections.unmodifiableMap(productsById);
+        this.productsByCategoryName = Collections.unmodifiableMap(productsByCategoryName);
+        this.items = sort(new ArrayList<Item>(items), ITEM_ID);
+        this.itemIds = new long[items.size()];
+        for (int i = 0; i < itemIds.length; i++) {
+            itemIds[i] = this.items.get(i).getId();
+        }
+        this.itemsById = Collections.unmodifiableMap(itemsById);
+        this.itemsByProductId = Collections.unmodifiableMap(itemsByProductId);
+
+        List<CategoryView> categoryViews = new ArrayList<CategoryView>(categories.size());
+        for (Category category : this.categories) {
+            categoryViews.add(new CategoryView(category));
+        }
+        this.categoryViews = Collections.unmodifiableList(categoryViews);
+        List<ProductView> productViews = new ArrayList<ProductView>(products.size());
+        for (Product product : this.products) {
+            productViews.add(new ProductView(product));
+        }
+        this.productViews = Collections.unmodifiableList(productViews);
+        List<ItemView> itemViews = new ArrayList<ItemView>(items.size());
+        for (Item item : this.items) {
+            itemViews.add(new ItemView(item));
+        }
+        this.itemViews = Collections.unmodifiableList(itemViews);
+        this.searchIndex = new CatalogSearchIndex(this.items);
+        this.tag = hash();
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the time the snapshot was loaded at, in milliseconds
+     */
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * @return a hash of the content, the same on every node holding the same catalog
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    public Category findCategory(Long categoryId) {
+        return new Copy().category(categoriesById.get(categoryId));
+    }
+
+    public Category findCategory(String categoryName) {
+        return new Copy().category(categoriesByName.get(categoryName));
+    }
+
+    public List<Category> findAllCategories() {
+        return new Copy().categories(categories);
+    }
+
+    /**
+     * @return at most limit categories with an id greater than afterId (or the first ones if null), by id
+     */
+    public List<Category> findCategories(Long afterId, int limit) {
+        return new Copy().categories(page(categories, categoryIds, afterId, limit));
+    }
+
+    public CategoryView findCategoryView(Long categoryId) {
+        return find(categoryViews, categoryIds, categoryId);
+    }
+
+    public List<CategoryView> findCategoryViews(Long afterId, int limit) {
+        return page(categoryViews, categoryIds, afterId, limit);
+    }
+
+    public Product findProduct(Long productId) {
+        return new Copy().product(productsById.get(productId));
+    }
+
+    public List<Product> findProducts(String categoryName) {
+        List<Product> categoryProducts = productsByCategoryName.get(categoryName);
+        return categoryProducts != null ? new Copy().products(categoryProducts) : new ArrayList<Product>();
+    }
+
+    public List<Product> findAllProducts() {
+        return new Copy().products(products);
+    }
+
+    public List<Product> findProducts(Long afterId, int limit) {
+        return new Copy().products(page(products, productIds, afterId, limit));
+    }
+
+    public ProductView findProductView(Long productId) {
+        return find(productViews, productIds, productId);
+    }
+
+    public List<ProductView> findProductViews(Long afterId, int limit) {
+        return page(productViews, productIds, afterId, limit);
+    }
+
+    public List<ProductView> findAllProductViews() {
+        return productViews;
+    }
+
+    public Item findItem(Long itemId) {
+        return new Copy().item(itemsById.get(itemId));
+    }
+
+    /**
+     * @return the items found by id, in the order of the ids and sharing the copies of their products and
+     *         categories. Unknown ids are left out
+     */
+    public List<Item> findItems(Collection<Long> itemIds) {
+        Copy copy = new Copy();
+        List<Item> found = new ArrayList<Item>(itemIds.size());
+        for (Long itemId : itemIds) {
+            Item item = itemsById.get(itemId);
+            if (item != null)
+                found.add(copy.item(item));
+        }
+        return found;
+    }
+
+    public List<Item> findItems(Long productId) {
+        List<Item> productItems = itemsByProductId.get(productId);
+        return productItems != null ? new Copy().items(productItems) : new ArrayList<Item>();
+    }
+
+    public List<Item> findAllItems() {
+        return new Copy().items(items);
+    }
+
+    public List<Item> findItemsAfter(Long afterId, int limit) {
+        return new Copy().items(page(items, itemIds, afterId, limit));
+    }
+
+    /**
+     * @return the limit items best matching the keyword, best match first
+     */
+    public List<Item> searchItems(String keyword, int limit) {
+        return findItems(searchIndex.search(keyword, limit));
+    }
+
+    public ItemView findItemView(Long itemId) {
+        return find(itemViews, itemIds, itemId);
+    }
+
+    public List<ItemView> findItemViews(Long afterId, int limit) {
+        return page(itemViews, itemIds, afterId, limit);
+    }
+
+    public List<ItemView> findAllItemViews() {
+        return itemViews;
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private static <T> List<T> sort(List<T> list, Comparator<T> comparator) {
+        Collections.sort(list, comparator);
+        return Collections.unmodifiableList(list);
+    }
+
+    private static <T> T find(List<T> sorted, long[] ids, Long id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? sorted.get(index) : null;
+    }
+
+    private static <T> List<T> page(List<T> sorted, long[] ids, Long afterId, int limit) {
+        int from = 0;
+        if (afterId != null) {
+            int index = Arrays.binarySearch(ids, afterId);
+            from = index >= 0 ? index + 1 : -index - 1;
+        }
+        int to = (int) Math.min(sorted.size(), (long) from + limit);
+        return sorted.subList(from, to);
+    }
+
+    /**
+     * 64 bits FNV-1a hash of the fields of the categories, products and items, in id order
+     */
+    private String hash() {
+        long hash = 0xcbf29ce484222325L;
+        for (Category category : categories) {
+            hash = hash(hash, category.getId(), category.getName(), category.getDescription());
+        }
+        for (Product product : products) {
+            hash = hash(hash, product.getId(), product.getName(), product.getDescription(), product.getCategory().getId());
+        }
+        for (Item item : items) {
+            BigDecimal unitCost = item.getUnitCost();
+            hash = hash(hash, item.getId(), item.getName(), item.getDescription(), unitCost == null ? null : unitCost.toPlainString(),
+                    item.getImagePath(), item.getProduct().getId());
+        }
+        return Long.toHexString(hash);
+    }
+
+    private static long hash(long hash, Object... fields) {
+        for (Object field : fields) {
+            String value = String.valueOf(field);
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+            }
+            // Separates the fields so that "ab", "c" and "a", "bc" don't hash the same
+            hash = (hash ^ 0xffff) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // ======================================
+    // =            Inner Classes           =
+    // ======================================
+
+    /**
+     * Copies handed out by one read. Only the entity asked for is copied with its children, a category with its
+     * products and their items, a product with its items. Its parents, and the entities of a list, are copied
+     * alone, their one-to-many sides left unloaded, and each of them only once per read.
+     */
+    private static class Copy {
+
+        private final Map<Long, Category> categories = new HashMap<Long, Category>();
+        private final Map<Long, Product> products = new HashMap<Long, Product>();
+
+        Category category(Category category) {
+            if (category == null)
+                return null;
+
+            Category copy = parent(category);
+            List<Product> productCopies = new ArrayList<Product>(category.getProducts().size());
+            for (Product product : category.getProducts()) {
+                Product productCopy = parent(product);
+                productCopy.setItems(items(product.getItems()));
+                productCopies.add(productCopy);
+            }
+            copy.setProducts(productCopies);
+            return copy;
+        }
+
+        Product product(Product product) {
+            if (product == null)
+                return null;
+
+            Product copy = parent(product);
+            copy.setItems(items(product.getItems()));
+            return copy;
+        }
+
+        Item item(Item item) {
+            if (item == null)
+                return null;
+
+            Item copy = new Item(item);
+            copy.setProduct(parent(item.getProduct()));
+            return copy;
+        }
+
+        List<Category> categories(List<Category> categories) {
+            List<Category> copies = new ArrayList<Category>(categories.size());
+            for (Category category : categories) {
+                copies.add(parent(category));
+            }
+            return copies;
+        }
+
+        List<Product> products(List<Product> products) {
+            List<Product> copies = new ArrayList<Product>(products.size());
+            for (Product product : products) {
+                copies.add(parent(product));
+            }
+            return copies;
+        }
+
+        List<Item> items(List<Item> items) {
+            List<Item> copies = new ArrayList<Item>(items.size());
+            for (Item item : items) {
+                copies.add(item(item));
+            }
+            return copies;
+        }
+
+        private Category parent(Category category) {
+            Category copy = categories.get(category.getId());
+            if (copy == null) {
+                copy = new Category(category);
+                categories.put(copy.getId(), copy);
+            }
+            return copy;
+        }
+
+        private Product parent(Product product) {
+            Product copy = products.get(product.getId());
+            if (copy == null) {
+                copy = new Product(product);
+                copy.setCategory(parent(product.getCategory()));
+                products.put(copy.getId(), copy);
+            }
+            return copy;
+        }
+    }
+}
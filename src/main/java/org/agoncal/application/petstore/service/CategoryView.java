@@ -0,0 +1,76 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Category;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Flat, immutable and read-only copy of a category, the way it is sent by the REST interface
+ */
+
+@XmlRootElement(name = "category")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class CategoryView {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final Long id;
+    private final String name;
+    private final String description;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    // Needed by JAXB
+    private CategoryView() {
+        this(null, null, null);
+    }
+
+    public CategoryView(Long id, String name, String description) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+    }
+
+    public CategoryView(Category category) {
+        this(category.getId(), category.getName(), category.getDescription());
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("CategoryView");
+        sb.append("{id=").append(id);
+        sb.append(", name='").append(name).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,86 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.util.ConfigProperty;
+import org.agoncal.application.petstore.util.Loggable;
+
+import javax.ejb.ConcurrencyManagement;
+import javax.ejb.ConcurrencyManagementType;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Hands out the ids of the entities that get theirs before being persisted, like the orders which are
+ *         given one as soon as they are accepted. Ids are given from memory, out of blocks reserved in the
+ *         t_id_block table by the IdBlockService. Callers only wait for each other when they want an id of the same
+ *         entity, and only for the time of an increment, unless the block is used up and a new one is reserved.
+ */
+
+@Singleton
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@Loggable
+public class IdAllocator {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private IdBlockService idBlockService;
+
+    @Inject
+    @ConfigProperty("idBlockSize")
+    private Integer blockSize;
+
+    // Current block by entity name
+    private final ConcurrentMap<String, Block> blocks = new ConcurrentHashMap<String, Block>();
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    @TransactionAttribute(TransactionAttributeType.SUPPORTS)
+    public Long next(Class<?> entityClass) {
+        Block block = block(entityClass.getSimpleName());
+        synchronized (block) {
+            if (block.next == block.end) {
+                block.next = idBlockService.reserve(entityClass, blockSize);
+                block.end = block.next + blockSize;
+            }
+            return block.next++;
+        }
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private Block block(String name) {
+        Block block = blocks.get(name);
+        if (block == null) {
+            Block created = new Block();
+            block = blocks.putIfAbsent(name, created);
+            if (block == null)
+                block = created;
+        }
+        return block;
+    }
+
+    // ======================================
+    // =            Inner Classes           =
+    // ======================================
+
+    /**
+     * Next id and end (exclusive) of a block, guarded by the block itself. Empty until its first reservation
+     */
+    private static class Block {
+        private long next;
+        private long end;
+    }
+}
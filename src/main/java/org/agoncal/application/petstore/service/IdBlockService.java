@@ -0,0 +1,67 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.IdBlock;
+import org.agoncal.application.petstore.util.Loggable;
+
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.io.Serializable;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Blocks of ids in the t_id_block table. Each reservation is made in its own transaction so that a rolled
+ *         back caller never gives back ids already handed out, and the row stays locked for that transaction only.
+ */
+
+@Stateless
+@Loggable
+public class IdBlockService implements Serializable {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private EntityManager em;
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * @return the first id of a block of size ids of the entity
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public long reserve(final Class<?> entityClass, final int size) {
+        String name = entityClass.getSimpleName();
+        IdBlock idBlock = em.find(IdBlock.class, name, LockModeType.PESSIMISTIC_WRITE);
+        if (idBlock == null) {
+            // First reservation, follows the ids already in the table
+            idBlock = new IdBlock(name, maxId(entityClass) + 1);
+            em.persist(idBlock);
+        }
+        return idBlock.reserve(size);
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private <T> long maxId(Class<T> entityClass) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<T> root = query.from(entityClass);
+        query.select(builder.max(root.<Long>get("id")));
+        Long max = em.createQuery(query).getSingleResult();
+        return max == null ? 0 : max;
+    }
+}
@@ -0,0 +1,261 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Stock;
+import org.agoncal.application.petstore.util.ConfigProperty;
+import org.agoncal.application.petstore.util.Loggable;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.*;
+import javax.inject.Inject;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Units available to order, by item. The stocks of the database are shared by all the nodes: each node leases
+ *         blocks of units from them, inventoryLeaseSize at a time, and reserves the units of its carts from its
+ *         blocks with an atomic counter per item, without any lock. Only a node that runs short leases a new block,
+ *         in a transaction of its own that locks the stock row: a unit is never leased twice, so never sold twice.
+ *         <p/>
+ *         A reserved unit belongs to its cart, whatever the node: it is given back to the blocks of the node that
+ *         releases it, or sold by the order that consumes it, which writes nothing more to the stocks. Every few
+ *         milliseconds a BatchWriter gives the units a node holds beyond one block back to the stocks, so that the
+ *         other nodes can lease them, and all of them when the node is stopped, once the CartStore has released
+ *         the units of its carts. Items without a stock are not tracked, which is remembered for
+ *         inventoryUntrackedTimeToLive seconds rather than looked up again on every reservation. The units held by
+ *         a node that crashes are lost for the stocks until they are counted again.
+ */
+
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@Loggable
+public class Inventory {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private InventoryService inventoryService;
+
+    @Resource
+    private TimerService timerService;
+
+    @Inject
+    @ConfigProperty("inventoryFlushInterval")
+    private Integer flushInterval;
+
+    @Inject
+    @ConfigProperty("inventoryLeaseSize")
+    private Integer leaseSize;
+
+    @Inject
+    @ConfigProperty("inventoryUntrackedTimeToLive")
+    private Integer untrackedTimeToLive;
+
+    // Units leased by this node and not reserved, by tracked item. Each counter is also the lock of its leases
+    private final ConcurrentMap<Long, AtomicInteger> leased = new ConcurrentHashMap<Long, AtomicInteger>();
+
+    // Units released here for items this node has not leased, given back to the stocks with the next flush
+    private final ConcurrentMap<Long, AtomicInteger> released = new ConcurrentHashMap<Long, AtomicInteger>();
+
+    // Time items without a stock were found to have none at, forgotten once restocked here or after a while so
+    // that a restock made by another node is seen
+    private final ConcurrentMap<Long, Long> untracked = new ConcurrentHashMap<Long, Long>();
+
+    private volatile boolean stopping;
+
+    private ReturnWriter returnWriter;
+
+    // ======================================
+    // =          Lifecycle Methods         =
+    // ======================================
+
+    @PostConstruct
+    private void start() {
+        returnWriter = new ReturnWriter();
+        returnWriter.start(timerService, flushInterval);
+    }
+
+    @PreDestroy
+    private void stop() {
+        stopping = true;
+        flush();
+    }
+
+    @Timeout
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void onTimeout() {
+        returnWriter.onTimeout();
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * Takes the units from the blocks of this node, a new block is leased first if they are not enough
+     *
+     * @return true if the units are reserved, or if the item is not tracked. False if there are not enough left,
+     *         nothing is reserved then
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public boolean reserve(Long itemId, int units) {
+        if (units <= 0 || isUntracked(itemId))
+            return true;
+
+        AtomicInteger counter = leased.get(itemId);
+        if (counter != null && take(counter, units))
+            return true;
+        if (counter == null)
+            counter = counter(leased, itemId);
+
+        synchronized (counter) {
+            // Another reservation may have leased a block in the meantime
+            if (take(counter, units))
+                return true;
+            Integer granted = inventoryService.lease(itemId, Math.max(leaseSize, units - counter.get()));
+            if (granted == null) {
+                leased.remove(itemId, counter);
+                untracked.put(itemId, System.currentTimeMillis());
+                return true;
+            }
+            counter.addAndGet(granted);
+            return take(counter, units);
+        }
+    }
+
+    /**
+     * Gives back reserved units, that were not ordered. They may have been reserved by another node
+     */
+    public void release(Long itemId, int units) {
+        if (units <= 0 || isUntracked(itemId))
+            return;
+
+        AtomicInteger counter = leased.get(itemId);
+        if (counter != null)
+            counter.addAndGet(units);
+        else
+            counter(released, itemId).addAndGet(units);
+    }
+
+    /**
+     * @return the units that can still be reserved on this node, the ones of its blocks and the ones left in the
+     *         stock, null if the item is not tracked
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public Integer getAvailable(Long itemId) {
+        Stock stock = inventoryService.findStock(itemId);
+        if (stock == null)
+            return null;
+        AtomicInteger counter = leased.get(itemId);
+        return stock.getQuantity() + (counter == null ? 0 : counter.get());
+    }
+
+    /**
+     * Adds units to the stock of an item, they can be leased once committed. An item is tracked from its first
+     * restock on.
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void restock(Long itemId, int units) {
+        inventoryService.restock(itemId, units);
+        untracked.remove(itemId);
+    }
+
+    /**
+     * Gives back to the stocks the units held beyond one block now
+     *
+     * @return the number of stocks updated
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public int flush() {
+        return returnWriter.flush();
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private boolean isUntracked(Long itemId) {
+        Long since = untracked.get(itemId);
+        if (since == null)
+            return false;
+        if (System.currentTimeMillis() - since < untrackedTimeToLive * 1000L)
+            return true;
+        untracked.remove(itemId, since);
+        return false;
+    }
+
+    private boolean take(AtomicInteger counter, int units) {
+        while (true) {
+            int left = counter.get();
+            if (left < units)
+                return false;
+            if (counter.compareAndSet(left, left - units))
+                return true;
+        }
+    }
+
+    private AtomicInteger counter(ConcurrentMap<Long, AtomicInteger> counters, Long itemId) {
+        AtomicInteger counter = counters.get(itemId);
+        if (counter == null) {
+            AtomicInteger created = new AtomicInteger();
+            counter = counters.putIfAbsent(itemId, created);
+            if (counter == null)
+                counter = created;
+        }
+        return counter;
+    }
+
+    // ======================================
+    // =            Inner Classes           =
+    // ======================================
+
+    private class ReturnWriter extends BatchWriter<Map<Long, Integer>> {
+
+        ReturnWriter() {
+            super(logger, "Units given back");
+        }
+
+        @Override
+        protected Map<Long, Integer> take() {
+            int kept = stopping ? 0 : leaseSize;
+            Map<Long, Integer> units = new HashMap<Long, Integer>();
+            for (Map.Entry<Long, AtomicInteger> entry : leased.entrySet()) {
+                AtomicInteger counter = entry.getValue();
+                int left = counter.get();
+                while (left > kept && !counter.compareAndSet(left, kept)) {
+                    left = counter.get();
+                }
+                if (left > kept)
+                    units.put(entry.getKey(), left - kept);
+            }
+            for (Map.Entry<Long, AtomicInteger> entry : released.entrySet()) {
+                int left = entry.getValue().getAndSet(0);
+                if (left > 0) {
+                    Integer leasedUnits = units.get(entry.getKey());
+                    units.put(entry.getKey(), leasedUnits == null ? left : leasedUnits + left);
+                }
+            }
+            return units.isEmpty() ? null : units;
+        }
+
+        @Override
+        protected int write(Map<Long, Integer> units) {
+            inventoryService.giveBack(units);
+            return units.size();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Stock;
+import org.agoncal.application.petstore.exception.ValidationException;
+import org.agoncal.application.petstore.util.Loggable;
+
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Stocks in the database, shared by all the nodes. The Inventory of each node leases blocks of units from
+ *         them and gives back the units it does not need: the units leased are no longer in the stock, they are
+ *         reserved or sold by that node.
+ */
+
+@Stateless
+@Loggable
+public class InventoryService implements Serializable {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private EntityManager em;
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    public List<Stock> findAllStocks() {
+        return em.createNamedQuery(Stock.FIND_ALL, Stock.class).getResultList();
+    }
+
+    public Stock findStock(final Long itemId) {
+        if (itemId == null)
+            throw new ValidationException("Invalid id");
+        return em.find(Stock.class, itemId);
+    }
+
+    /**
+     * Takes up to the units asked from the stock of an item, in a transaction of its own that locks the stock: the
+     * units granted are leased by the caller even if its own transaction is rolled back
+     *
+     * @return the units granted, which may be fewer than the ones asked or none, null if the item is not tracked
+     */
+    @TransactionAttribute(TransactionAttributeType.REQUIRES_NEW)
+    public Integer lease(final Long itemId, final int units) {
+        if (itemId == null)
+            throw new ValidationException("Invalid id");
+        if (units < 0)
+            throw new ValidationException("Invalid quantity");
+
+        Stock stock = em.find(Stock.class, itemId, LockModeType.PESSIMISTIC_WRITE);
+        if (stock == null)
+            return null;
+        int granted = Math.min(units, Math.max(stock.getQuantity(), 0));
+        stock.remove(granted);
+        return granted;
+    }
+
+    /**
+     * Adds units to the stock of an item, which is tracked from then on
+     *
+     * @return the units in stock
+     */
+    public int restock(final Long itemId, final int units) {
+        if (itemId == null)
+            throw new ValidationException("Invalid id");
+        if (units < 0)
+            throw new ValidationException("Invalid quantity");
+
+        Stock stock = em.find(Stock.class, itemId, LockModeType.PESSIMISTIC_WRITE);
+        if (stock == null) {
+            stock = new Stock(itemId, 0);
+            em.persist(stock);
+        }
+        stock.add(units);
+        return stock.getQuantity();
+    }
+
+    /**
+     * Gives leased units back to the stocks. They are read in one query and updated in one JDBC batch, locked until
+     * the commit so that a lease or a restock in the meantime is not lost. Items whose stock has been removed since
+     * are ignored.
+     */
+    public void giveBack(final Map<Long, Integer> units) {
+        if (units.isEmpty())
+            return;
+
+        List<Stock> stocks = em.createNamedQuery(Stock.FIND_BY_ITEM_IDS, Stock.class)
+                .setParameter("itemIds", new ArrayList<Long>(units.keySet()))
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        for (Stock stock : stocks) {
+            stock.add(units.get(stock.getItemId()));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Item;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.math.BigDecimal;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Flat, immutable and read-only copy of an item, its product is referenced by id
+ */
+
+@XmlRootElement(name = "item")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class ItemView {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final BigDecimal unitCost;
+    private final String imagePath;
+    private final Long productId;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    // Needed by JAXB
+    private ItemView() {
+        this(null, null, null, null, null, null);
+    }
+
+    public ItemView(Long id, String name, String description, BigDecimal unitCost, String imagePath, Long productId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.unitCost = unitCost;
+        this.imagePath = imagePath;
+        this.productId = productId;
+    }
+
+    public ItemView(Item item) {
+        this(item.getId(), item.getName(), item.getDescription(), item.getUnitCost(), item.getImagePath(), item.getProduct().getId());
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public BigDecimal getUnitCost() {
+        return unitCost;
+    }
+
+    public String getImagePath() {
+        return imagePath;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("ItemView");
+        sb.append("{id=").append(id);
+        sb.append(", name='").append(name).append('\'');
+        sb.append(", unitCost=").append(unitCost);
+        sb.append(", productId=").append(productId);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,122 @@
+package org.agoncal.application.petstore.service;
+
+import java.nio.ByteBuffer;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Fixed size region of direct memory, out of the reach of the garbage collector, holding records of bytes.
+ *         The region is allocated once and never grows: it is cut in blocks of the same size, a record takes a
+ *         chain of blocks, each block starting with the index of the next one. Free blocks are kept on a stack, so
+ *         records of any length are stored and freed without ever moving the others.
+ */
+
+class OffHeapRegion {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    private static final int END = -1;
+
+    // Index of the next block of the record, at the start of each block
+    private static final int HEADER = 4;
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final ByteBuffer region;
+    private final int blockSize;
+
+    // Indexes of the free blocks, the top one is the next given
+    private final int[] freeBlocks;
+    private int free;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    OffHeapRegion(int capacity, int blockSize) {
+        if (blockSize <= HEADER || capacity < blockSize)
+            throw new IllegalArgumentException("Invalid region of " + capacity + " bytes in blocks of " + blockSize);
+        this.blockSize = blockSize;
+        int blocks = capacity / blockSize;
+        this.region = ByteBuffer.allocateDirect(blocks * blockSize);
+        this.freeBlocks = new int[blocks];
+        for (int i = 0; i < blocks; i++) {
+            freeBlocks[i] = blocks - 1 - i;
+        }
+        this.free = blocks;
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * @return the index of the first block of the record, or -1 if there are not enough free blocks left. Nothing is
+     *         stored then
+     */
+    synchronized int store(byte[] record) {
+        int payload = blockSize - HEADER;
+        int needed = Math.max(1, (record.length + payload - 1) / payload);
+        if (needed > free)
+            return END;
+
+        int first = freeBlocks[free - 1];
+        int block = first;
+        for (int written = 0, i = 1; i <= needed; i++) {
+            int next = i < needed ? freeBlocks[free - 1 - i] : END;
+            int length = Math.min(payload, record.length - written);
+            region.position(block * blockSize);
+            region.putInt(next);
+            region.put(record, written, length);
+            written += length;
+            block = next;
+        }
+        free -= needed;
+        return first;
+    }
+
+    /**
+     * @return the record stored from the block, the blocks are still held
+     */
+    synchronized byte[] load(int first, int length) {
+        byte[] record = new byte[length];
+        int payload = blockSize - HEADER;
+        int block = first;
+        for (int read = 0; read < length; ) {
+            region.position(block * blockSize);
+            int next = region.getInt();
+            int chunk = Math.min(payload, length - read);
+            region.get(record, read, chunk);
+            read += chunk;
+            block = next;
+        }
+        return record;
+    }
+
+    /**
+     * Gives back the blocks of the record
+     */
+    synchronized void free(int first) {
+        for (int block = first; block != END; ) {
+            int next = region.getInt(block * blockSize);
+            freeBlocks[free++] = block;
+            block = next;
+        }
+    }
+
+    /**
+     * @return number of bytes held by the stored records, their unused ends included
+     */
+    synchronized long getUsedBytes() {
+        return (long) (freeBlocks.length - free) * blockSize;
+    }
+
+    long getCapacity() {
+        return (long) freeBlocks.length * blockSize;
+    }
+}
@@ -0,0 +1,136 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.util.ConfigProperty;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Snapshots of the orders by id, least recently read first. Orders never change so there is nothing to
+ *         invalidate, the cache is only bounded: by the number of lines of the snapshots it holds rather than by
+ *         their number, a big order weighing as much as many small ones. An order whose write is rolled back is
+ *         dropped.
+ */
+
+@ApplicationScoped
+public class OrderCache {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    @ConfigProperty("orderCacheMaxLines")
+    private Integer maxLines;
+
+    // Access order, the eldest entry is the least recently read
+    private final Map<Long, OrderSnapshot> snapshots = new LinkedHashMap<Long, OrderSnapshot>(256, 0.75f, true);
+    private int lines;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    public OrderCache() {
+    }
+
+    OrderCache(int maxLines) {
+        this.maxLines = maxLines;
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * @return the snapshot of the order or null if it is not cached
+     */
+    public synchronized OrderSnapshot get(Long orderId) {
+        OrderSnapshot snapshot = snapshots.get(orderId);
+        if (snapshot != null)
+            hits.incrementAndGet();
+        else
+            misses.incrementAndGet();
+        return snapshot;
+    }
+
+    /**
+     * Evicts the least recently read snapshots until the lines of the new one fit
+     */
+    public synchronized void put(OrderSnapshot snapshot) {
+        OrderSnapshot previous = snapshots.put(snapshot.getId(), snapshot);
+        if (previous != null)
+            lines -= weight(previous);
+        lines += weight(snapshot);
+
+        Iterator<OrderSnapshot> eldest = snapshots.values().iterator();
+        while (lines > maxLines && eldest.hasNext()) {
+            OrderSnapshot evicted = eldest.next();
+            if (evicted == snapshot)
+                break;
+            lines -= weight(evicted);
+            eldest.remove();
+        }
+    }
+
+    public synchronized void remove(Long orderId) {
+        OrderSnapshot removed = snapshots.remove(orderId);
+        if (removed != null)
+            lines -= weight(removed);
+    }
+
+    public synchronized int getSize() {
+        return snapshots.size();
+    }
+
+    /**
+     * @return number of order lines held by the cached snapshots
+     */
+    public synchronized int getLines() {
+        return lines;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+    }
+
+    // ======================================
+    // =          Observer Methods          =
+    // ======================================
+
+    /**
+     * The order was cached when accepted, it does not exist if its write is rolled back
+     */
+    public void onOrderRollback(@Observes(during = TransactionPhase.AFTER_FAILURE) OrderEvent event) {
+        remove(event.getOrder().getId());
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private int weight(OrderSnapshot snapshot) {
+        return Math.max(1, snapshot.getOrderLines().size());
+    }
+}
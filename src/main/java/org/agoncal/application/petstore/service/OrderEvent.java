@@ -0,0 +1,48 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Order;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Fired by the OrderService every time an order is written, either right away or with a write-behind batch
+ */
+
+public class OrderEvent {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final Order order;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    public OrderEvent(Order order) {
+        this.order = order;
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public Order getOrder() {
+        return order;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("OrderEvent");
+        sb.append("{order=").append(order.getId());
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,180 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Money;
+import org.agoncal.application.petstore.exception.ValidationException;
+import org.agoncal.application.petstore.util.ConfigProperty;
+import org.agoncal.application.petstore.util.Days;
+import org.agoncal.application.petstore.util.Loggable;
+
+import javax.annotation.Resource;
+import javax.ejb.Stateless;
+import javax.ejb.TransactionAttribute;
+import javax.ejb.TransactionAttributeType;
+import javax.inject.Inject;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.DateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Exports the order lines of a period as CSV, one row per line with its order, customer and totals. Rows are
+ *         read with a forward-only cursor on the non transactional datasource and written as they come, only the
+ *         lines of one order are held at a time. Derby reads at read committed, so the row locks are released as the
+ *         cursor moves on and checkouts are never kept waiting for the export to end.
+ */
+
+@Stateless
+@Loggable
+public class OrderExportService {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    public static final String HEADER = "order_id,order_date,customer_login,customer_name,line_id,item_id,item_name,quantity,unit_cost,sub_total,order_total";
+
+    private static final String SELECT_ORDER_LINES = "SELECT o.id, o.order_date, c.login, c.firstname, c.lastname, l.id, i.id, i.name, l.quantity, l.unit_cost" +
+            " FROM t_order o" +
+            " JOIN Customer c ON c.id = o.customer_fk" +
+            " JOIN OrderLine l ON l.order_fk = o.id" +
+            " JOIN Item i ON i.id = l.item_fk" +
+            " WHERE o.order_date BETWEEN ? AND ?" +
+            " ORDER BY o.id, l.id";
+
+    // Number of rows written between two flushes of the writer
+    private static final int FLUSH_INTERVAL = 100;
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Resource(lookup = "java:global/jdbc/applicationPetstoreDSNonJta")
+    private DataSource dataSource;
+
+    @Inject
+    @ConfigProperty("orderExportFetchSize")
+    private Integer fetchSize;
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * Writes the header then the lines of the orders passed from one day to another, both included
+     *
+     * @return the number of lines written
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public int exportOrders(final Date from, final Date to, final Writer writer) throws IOException, SQLException {
+        if (from == null || to == null || from.after(to))
+            throw new ValidationException("Invalid period");
+
+        writer.write(HEADER);
+        writer.write("\r\n");
+
+        int written = 0;
+        Connection connection = dataSource.getConnection();
+        try {
+            PreparedStatement statement = connection.prepareStatement(SELECT_ORDER_LINES, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            try {
+                statement.setFetchSize(fetchSize);
+                statement.setDate(1, new java.sql.Date(from.getTime()));
+                statement.setDate(2, new java.sql.Date(to.getTime()));
+                ResultSet resultSet = statement.executeQuery();
+                try {
+                    written = write(resultSet, writer);
+                } finally {
+                    resultSet.close();
+                }
+            } finally {
+                statement.close();
+            }
+        } finally {
+            connection.close();
+        }
+        writer.flush();
+        return written;
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private int write(ResultSet resultSet, Writer writer) throws SQLException, IOException {
+        DateFormat dayFormat = Days.newFormat();
+        int written = 0;
+
+        // Lines of the current order, its total is only known once they have all been read
+        long orderId = 0;
+        long orderTotal = 0;
+        List<String[]> lines = new ArrayList<String[]>();
+        while (resultSet.next()) {
+            if (resultSet.getLong(1) != orderId) {
+                int before = written;
+                written += writeOrder(lines, orderTotal, writer);
+                if (written / FLUSH_INTERVAL > before / FLUSH_INTERVAL)
+                    writer.flush();
+                orderId = resultSet.getLong(1);
+                orderTotal = 0;
+            }
+            Money unitCost = Money.valueOf(resultSet.getBigDecimal(10));
+            int quantity = resultSet.getInt(9);
+            Money subTotal = unitCost.times(quantity);
+            orderTotal += subTotal.getCents();
+            lines.add(new String[]{
+                    String.valueOf(orderId),
+                    dayFormat.format(resultSet.getDate(2)),
+                    resultSet.getString(3),
+                    resultSet.getString(4) + " " + resultSet.getString(5),
+                    String.valueOf(resultSet.getLong(6)),
+                    String.valueOf(resultSet.getLong(7)),
+                    resultSet.getString(8),
+                    String.valueOf(quantity),
+                    unitCost.toString(),
+                    subTotal.toString()
+            });
+        }
+        written += writeOrder(lines, orderTotal, writer);
+        return written;
+    }
+
+    private int writeOrder(List<String[]> lines, long orderTotal, Writer writer) throws IOException {
+        String total = Money.ofCents(orderTotal).toString();
+        for (String[] line : lines) {
+            for (String value : line) {
+                writeValue(value, writer);
+                writer.write(',');
+            }
+            writer.write(total);
+            writer.write("\r\n");
+        }
+        int written = lines.size();
+        lines.clear();
+        return written;
+    }
+
+    /**
+     * Values holding a separator, a quote or a line break are quoted, their quotes doubled (RFC 4180)
+     */
+    private void writeValue(String value, Writer writer) throws IOException {
+        if (value == null)
+            return;
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,104 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.OrderLine;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.math.BigDecimal;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Flat, immutable and read-only copy of an order line, its item is referenced by id
+ */
+
+@XmlRootElement(name = "orderLine")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class OrderLineView {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final Long id;
+    private final Long itemId;
+    private final String itemName;
+    private final String productName;
+    private final BigDecimal unitCost;
+    private final int quantity;
+    private final BigDecimal subTotal;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    // Needed by JAXB
+    private OrderLineView() {
+        this(null, null, null, null, null, 0, null);
+    }
+
+    public OrderLineView(Long id, Long itemId, String itemName, String productName, BigDecimal unitCost, int quantity, BigDecimal subTotal) {
+        this.id = id;
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.productName = productName;
+        this.unitCost = unitCost;
+        this.quantity = quantity;
+        this.subTotal = subTotal;
+    }
+
+    public OrderLineView(OrderLine orderLine) {
+        this(orderLine.getId(), orderLine.getItem().getId(), orderLine.getItem().getName(), orderLine.getItem().getProduct().getName(),
+                orderLine.getUnitCost(), orderLine.getQuantity(), orderLine.getSubTotal().toBigDecimal());
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public BigDecimal getUnitCost() {
+        return unitCost;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getSubTotal() {
+        return subTotal;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("OrderLineView");
+        sb.append("{id=").append(id);
+        sb.append(", itemId=").append(itemId);
+        sb.append(", quantity=").append(quantity);
+        sb.append(", subTotal=").append(subTotal);
+        sb.append('}');
+        return sb.toString();
+    }
+}
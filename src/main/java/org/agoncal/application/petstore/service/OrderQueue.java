@@ -0,0 +1,251 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Order;
+import org.agoncal.application.petstore.domain.OrderLine;
+import org.agoncal.application.petstore.util.ConfigProperty;
+import org.agoncal.application.petstore.util.ExceptionUtils;
+import org.agoncal.application.petstore.util.Loggable;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.*;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Write-behind of the orders. When it is on, accepted orders wait in a bounded queue and are written by a
+ *         BatchWriter every few milliseconds, each batch in a single transaction, so that many orders share one commit
+ *         and one log flush. Orders still waiting are written when the application is stopped. An order that can't
+ *         be written, even on its own, is kept in the t_failed_order table: its units are given back to the
+ *         inventory and its snapshot is no longer served.
+ */
+
+@Singleton
+@Startup
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@Loggable
+public class OrderQueue {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private OrderService orderService;
+
+    @Inject
+    private OrderCache orderCache;
+
+    @Inject
+    private Inventory inventory;
+
+    @Resource
+    private TimerService timerService;
+
+    @Inject
+    @ConfigProperty("orderWriteBehind")
+    private Boolean writeBehind;
+
+    @Inject
+    @ConfigProperty("orderQueueCapacity")
+    private Integer capacity;
+
+    @Inject
+    @ConfigProperty("orderBatchSize")
+    private Integer batchSize;
+
+    @Inject
+    @ConfigProperty("orderFlushInterval")
+    private Integer flushInterval;
+
+    private volatile boolean enabled;
+    private BlockingQueue<Order> queue;
+
+    // A single writer, so that orders are written in the order they were accepted
+    private OrderWriter orderWriter;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong writtenOrders = new AtomicLong();
+    private final AtomicLong failedOrders = new AtomicLong();
+    private volatile int lastBatchSize;
+
+    // ======================================
+    // =          Lifecycle Methods         =
+    // ======================================
+
+    @PostConstruct
+    private void start() {
+        enabled = writeBehind;
+        queue = new ArrayBlockingQueue<Order>(capacity);
+        orderWriter = new OrderWriter();
+        orderWriter.start(timerService, flushInterval);
+    }
+
+    @PreDestroy
+    private void stop() {
+        enabled = false;
+        int written = flush();
+        if (written > 0)
+            logger.info(written + " queued orders written on shutdown");
+    }
+
+    @Timeout
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void onTimeout() {
+        orderWriter.onTimeout();
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * @return false if write-behind is off or the queue is full, the order then has to be written by the caller
+     */
+    public boolean offer(Order order) {
+        return enabled && queue.offer(order);
+    }
+
+    /**
+     * Writes all the queued orders now
+     *
+     * @return the number of orders written
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public int flush() {
+        return orderWriter.flush();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Orders already queued are still written when write-behind is turned off
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getDepth() {
+        return queue.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    public long getWrittenOrders() {
+        return writtenOrders.get();
+    }
+
+    /**
+     * @return number of queued orders that could not be written and were kept in the t_failed_order table
+     */
+    public long getFailedOrders() {
+        return failedOrders.get();
+    }
+
+    public void resetStatistics() {
+        batches.set(0);
+        writtenOrders.set(0);
+        failedOrders.set(0);
+        lastBatchSize = 0;
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private void written(List<Order> batch, int written) {
+        batches.incrementAndGet();
+        writtenOrders.addAndGet(written);
+        lastBatchSize = batch.size();
+    }
+
+    /**
+     * The order is kept aside, or at least logged if it can't even be kept, and no longer exists for the customer
+     */
+    private void fail(Order order, Throwable cause) {
+        logger.log(Level.SEVERE, "Queued order could not be written, kept as failed " + order, cause);
+        try {
+            orderService.persistFailedOrder(order, String.valueOf(cause));
+        } catch (EJBException e) {
+            logger.log(Level.SEVERE, "Failed order could not be kept " + order, ExceptionUtils.getRootCause(e));
+        }
+        for (OrderLine orderLine : order.getOrderLines()) {
+            inventory.release(orderLine.getItem().getId(), orderLine.getQuantity());
+        }
+        orderCache.remove(order.getId());
+        failedOrders.incrementAndGet();
+    }
+
+    // ======================================
+    // =            Inner Classes           =
+    // ======================================
+
+    private class OrderWriter extends BatchWriter<List<Order>> {
+
+        OrderWriter() {
+            super(logger, "Orders");
+        }
+
+        @Override
+        protected List<Order> take() {
+            List<Order> batch = new ArrayList<Order>(batchSize);
+            return queue.drainTo(batch, batchSize) > 0 ? batch : null;
+        }
+
+        @Override
+        protected int write(List<Order> batch) {
+            orderService.persistOrders(batch);
+            written(batch, batch.size());
+            return batch.size();
+        }
+
+        /**
+         * The whole batch has been rolled back, its orders are written one by one to find the faulty ones. They are
+         * not retried
+         */
+        @Override
+        protected int failed(List<Order> batch, Throwable cause) {
+            int written = 0;
+            for (Order order : batch) {
+                try {
+                    orderService.persistOrders(Collections.singletonList(order));
+                    written++;
+                } catch (EJBException e) {
+                    fail(order, ExceptionUtils.getRootCause(e));
+                }
+            }
+            written(batch, written);
+            return written;
+        }
+    }
+}
@@ -4,12 +4,23 @@ import org.agoncal.application.petstore.domain.*;
 import org.agoncal.application.petstore.exception.ValidationException;
 import org.agoncal.application.petstore.util.Loggable;
 
+import javax.annotation.Resource;
 import javax.ejb.Stateless;
+import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Antonio Goncalves
@@ -28,6 +39,24 @@ public class OrderService implements Serializable {
     @Inject
     private EntityManager em;
 
+    @Inject
+    private IdAllocator idAllocator;
+
+    @Inject
+    private OrderQueue orderQueue;
+
+    @Inject
+    private OrderCache orderCache;
+
+    @Inject
+    private Event<OrderEvent> orderEvent;
+
+    @Inject
+    private Inventory inventory;
+
+    @Resource
+    private TransactionSynchronizationRegistry transactionRegistry;
+
     // ======================================
     // =              Public Methods        =
     // ======================================
@@ -37,21 +66,249 @@ public class OrderService implements Serializable {
         // OMake sure the object is valid
         if (cartItems == null || cartItems.size() == 0)
             throw new ValidationException("Shopping cart is empty"); // TODO exception bean validation
+        if (customer == null || customer.getId() == null)
+            throw new ValidationException("Invalid customer");
+        for (CartItem cartItem : cartItems) {
+            if (cartItem.getQuantity() == null || cartItem.getQuantity() < 1)
+                throw new ValidationException("Invalid quantity for the item " + cartItem.getItem().getId());
+        }
+        checkPrices(cartItems);
+        reserve(cartItems);
 
-        // Creating the order
-        Order order = new Order(em.merge(customer), creditCard, customer.getHomeAddress());
+        // Creating the order, it gets its id right away
+        Order order = new Order(idAllocator.next(Order.class), customer, creditCard, customer.getHomeAddress());
 
         // From the shopping cart we create the order lines
         List<OrderLine> orderLines = new ArrayList<OrderLine>();
 
         for (CartItem cartItem : cartItems) {
-            orderLines.add(new OrderLine(cartItem.getQuantity(), em.merge(cartItem.getItem())));
+            orderLines.add(new OrderLine(cartItem.getQuantity(), cartItem.getItem()));
         }
         order.setOrderLines(orderLines);
 
-        // Persists the object to the database
-        em.persist(order);
+        // Either written later with the next batch (write-behind) or right away
+        if (!orderQueue.offer(order))
+            persist(order);
+
+        // The accepted order never changes, it can be shown and looked up from now on without being read back
+        orderCache.put(new OrderSnapshot(order));
+        return order;
+    }
+
+    /**
+     * @return the order with its lines, or null if it does not exist or is still waiting to be written
+     */
+    public Order findOrder(final Long orderId) {
+        if (orderId == null)
+            throw new ValidationException("Invalid id");
 
+        Order order = em.find(Order.class, orderId);
+        if (order != null)
+            order.getOrderLines().size();
         return order;
     }
+
+    /**
+     * @return the snapshot of one of the customer's orders, from the cache or read once and cached, null if it does
+     *         not exist or is not one of theirs
+     */
+    public OrderSnapshot findOrderSnapshot(final Customer customer, final Long orderId) {
+        if (customer == null || customer.getId() == null)
+            throw new ValidationException("Invalid customer");
+        if (orderId == null)
+            throw new ValidationException("Invalid id");
+
+        OrderSnapshot snapshot = orderCache.get(orderId);
+        if (snapshot == null) {
+            Order order = findOrder(orderId);
+            if (order == null)
+                return null;
+            snapshot = new OrderSnapshot(order);
+            orderCache.put(snapshot);
+        }
+        return customer.getId().equals(snapshot.getCustomerId()) ? snapshot : null;
+    }
+
+    /**
+     * Keyset pagination of a customer's order history, newest first: returns at most limit orders following the one
+     * with the beforeId id. A page costs the same whatever the number of orders of the customer, one query for the
+     * orders and one for the totals of their lines. Orders still waiting in the write-behind queue are not listed yet.
+     */
+    public List<OrderSummary> findOrders(final Customer customer, final Long beforeId, final int limit) {
+        if (customer == null || customer.getId() == null)
+            throw new ValidationException("Invalid customer");
+        if (limit < 1)
+            throw new ValidationException("Invalid limit");
+
+        TypedQuery<Object[]> typedQuery;
+        if (beforeId == null) {
+            typedQuery = em.createNamedQuery(Order.FIND_BY_CUSTOMER, Object[].class);
+        } else {
+            typedQuery = em.createNamedQuery(Order.FIND_BY_CUSTOMER_BEFORE, Object[].class);
+            typedQuery.setParameter("beforeId", beforeId);
+        }
+        List<Object[]> orders = typedQuery.setParameter("customerId", customer.getId()).setMaxResults(limit).getResultList();
+        if (orders.isEmpty())
+            return new ArrayList<OrderSummary>();
+
+        List<Long> orderIds = new ArrayList<Long>(orders.size());
+        for (Object[] order : orders) {
+            orderIds.add((Long) order[0]);
+        }
+        Map<Long, Object[]> totals = new HashMap<Long, Object[]>(orders.size() * 2);
+        for (Object[] total : em.createNamedQuery(OrderLine.SUM_BY_ORDERS, Object[].class).setParameter("orderIds", orderIds).getResultList()) {
+            totals.put((Long) total[0], total);
+        }
+
+        List<OrderSummary> summaries = new ArrayList<OrderSummary>(orders.size());
+        for (Object[] order : orders) {
+            Object[] total = totals.get(order[0]);
+            if (total == null)
+                summaries.add(new OrderSummary((Long) order[0], (Date) order[1], Money.ZERO.toBigDecimal(), 0));
+            else
+                summaries.add(new OrderSummary((Long) order[0], (Date) order[1], toAmount((Number) total[2]), ((Number) total[1]).intValue()));
+        }
+        return summaries;
+    }
+
+    /**
+     * @return the lines of one of the customer's orders with their items, empty if the order is not one of theirs
+     */
+    public List<OrderLine> findOrderLines(final Customer customer, final Long orderId) {
+        if (customer == null || customer.getId() == null)
+            throw new ValidationException("Invalid customer");
+        if (orderId == null)
+            throw new ValidationException("Invalid id");
+
+        TypedQuery<OrderLine> typedQuery = em.createNamedQuery(OrderLine.FIND_BY_ORDER, OrderLine.class);
+        typedQuery.setParameter("orderId", orderId);
+        typedQuery.setParameter("customerId", customer.getId());
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * Writes the orders in the current transaction, so that they are committed together
+     */
+    public void persistOrders(final List<Order> orders) {
+        for (Order order : orders) {
+            persist(order);
+        }
+    }
+
+    /**
+     * Keeps an accepted order that could not be written, with the cause of its failure
+     */
+    public void persistFailedOrder(final Order order, final String cause) {
+        if (order == null)
+            throw new ValidationException("Order object is null");
+
+        em.persist(new FailedOrder(order, cause));
+    }
+
+    /**
+     * @return the accepted order kept because it could not be written, null if there is none with this id
+     */
+    public FailedOrder findFailedOrder(final Long orderId) {
+        if (orderId == null)
+            throw new ValidationException("Invalid id");
+
+        return em.find(FailedOrder.class, orderId);
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    /**
+     * The items of the cart were read when they were added to it, their prices are checked against the current ones
+     * with a single query whatever the number of lines
+     */
+    private void checkPrices(List<CartItem> cartItems) {
+        Map<Long, Money> prices = new HashMap<Long, Money>(cartItems.size() * 2);
+        for (CartItem cartItem : cartItems) {
+            prices.put(cartItem.getItem().getId(), cartItem.getItem().getPrice());
+        }
+
+        List<Object[]> unitCosts = em.createNamedQuery(Item.FIND_UNIT_COSTS, Object[].class).setParameter("ids", new ArrayList<Long>(prices.keySet())).getResultList();
+        if (unitCosts.size() != prices.size())
+            throw new ValidationException("An item of the shopping cart is no longer available");
+        for (Object[] unitCost : unitCosts) {
+            if (!prices.get(unitCost[0]).equals(Money.valueOf((BigDecimal) unitCost[1])))
+                throw new ValidationException("The price of the item " + unitCost[0] + " has changed");
+        }
+    }
+
+    /**
+     * The units of the cart are reserved in the Inventory when they are added to it, the ones still missing are
+     * reserved now. The order consumes them once committed and the units reserved beyond its quantities are given
+     * back, whereas the units reserved here are given back if it is rolled back.
+     *
+     * @throws ValidationException if there are not enough units left, nothing more is reserved then
+     */
+    private void reserve(List<CartItem> cartItems) {
+        final Map<Long, Integer> reservedNow = new HashMap<Long, Integer>();
+        final Map<Long, Integer> surplus = new HashMap<Long, Integer>();
+        for (CartItem cartItem : cartItems) {
+            Long itemId = cartItem.getItem().getId();
+            int missing = cartItem.getQuantity() - cartItem.getReserved();
+            if (missing < 0) {
+                add(surplus, itemId, -missing);
+            } else if (missing > 0) {
+                if (!inventory.reserve(itemId, missing)) {
+                    release(reservedNow);
+                    throw new ValidationException("Not enough " + cartItem.getItem().getName() + " in stock, only " + inventory.getAvailable(itemId) + " more can be ordered");
+                }
+                add(reservedNow, itemId, missing);
+            }
+        }
+        if (reservedNow.isEmpty() && surplus.isEmpty())
+            return;
+
+        transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                release(status == Status.STATUS_COMMITTED ? surplus : reservedNow);
+            }
+        });
+    }
+
+    private void release(Map<Long, Integer> units) {
+        for (Map.Entry<Long, Integer> entry : units.entrySet()) {
+            inventory.release(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void add(Map<Long, Integer> units, Long itemId, int added) {
+        Integer current = units.get(itemId);
+        units.put(itemId, current == null ? added : current + added);
+    }
+
+    /**
+     * Depending on the provider the sum of the decimals comes back as a BigDecimal or a Double
+     */
+    private BigDecimal toAmount(Number sum) {
+        BigDecimal amount = sum instanceof BigDecimal ? (BigDecimal) sum : new BigDecimal(sum.toString());
+        return amount.setScale(Money.SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * A copy of the order is persisted so that the one handed to the customer is left untouched. The customer and
+     * the items it refers to are attached by id, as references: their state is neither read nor copied, the lines
+     * keep the price they were accepted at. The ids of the lines come from a pooled generator, so all their inserts
+     * are sent in one JDBC batch. The sales of each line, keyed from the accepted order whose items are fully read,
+     * are recorded in the same transaction, for the SalesAggregator to add them up.
+     */
+    private void persist(Order order) {
+        List<OrderLine> orderLines = new ArrayList<OrderLine>(order.getOrderLines().size());
+        for (OrderLine orderLine : order.getOrderLines()) {
+            orderLines.add(new OrderLine(orderLine.getQuantity(), em.getReference(Item.class, orderLine.getItem().getId()), orderLine.getUnitCost()));
+            em.persist(new PendingSales(SalesAggregate.keyOf(order.getOrderDate(), orderLine), orderLine));
+        }
+        em.persist(new Order(order, em.getReference(Customer.class, order.getCustomer().getId()), orderLines));
+        orderEvent.fire(new OrderEvent(order));
+    }
 }
@@ -0,0 +1,123 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Item;
+import org.agoncal.application.petstore.domain.Order;
+import org.agoncal.application.petstore.domain.OrderLine;
+
+import javax.xml.bind.annotation.*;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Flat and immutable copy of an order with its lines, kept by the OrderCache. An order never changes once it
+ *         is accepted, so a snapshot never goes stale. Lines come in the order of the cart, without their ids which
+ *         are only given when the order is written.
+ */
+
+@XmlRootElement(name = "order")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class OrderSnapshot {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final Long id;
+    private final Date orderDate;
+    @XmlTransient
+    private final Long customerId;
+    private final String customerLogin;
+    private final String customerName;
+    @XmlElementWrapper(name = "orderLines")
+    @XmlElement(name = "orderLine")
+    private final List<OrderLineView> orderLines;
+    private final BigDecimal total;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    // Needed by JAXB
+    private OrderSnapshot() {
+        this.id = null;
+        this.orderDate = null;
+        this.customerId = null;
+        this.customerLogin = null;
+        this.customerName = null;
+        this.orderLines = null;
+        this.total = null;
+    }
+
+    /**
+     * The order has to be fully loaded: customer, lines, items and their products
+     */
+    public OrderSnapshot(Order order) {
+        this.id = order.getId();
+        this.orderDate = new Date(order.getOrderDate().getTime());
+        this.customerId = order.getCustomer().getId();
+        this.customerLogin = order.getCustomer().getLogin();
+        this.customerName = order.getCustomer().getFullname();
+        List<OrderLineView> lines = new ArrayList<OrderLineView>(order.getOrderLines().size());
+        for (OrderLine orderLine : order.getOrderLines()) {
+            Item item = orderLine.getItem();
+            lines.add(new OrderLineView(null, item.getId(), item.getName(), item.getProduct().getName(), orderLine.getUnitCost(),
+                    orderLine.getQuantity(), orderLine.getSubTotal().toBigDecimal()));
+        }
+        this.orderLines = Collections.unmodifiableList(lines);
+        this.total = order.getTotal().toBigDecimal();
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public Long getId() {
+        return id;
+    }
+
+    public Date getOrderDate() {
+        return new Date(orderDate.getTime());
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public String getCustomerLogin() {
+        return customerLogin;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public List<OrderLineView> getOrderLines() {
+        return orderLines;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("OrderSnapshot");
+        sb.append("{id=").append(id);
+        sb.append(", customerLogin='").append(customerLogin).append('\'');
+        sb.append(", orderLines=").append(orderLines.size());
+        sb.append(", total=").append(total);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package org.agoncal.application.petstore.service;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Flat, immutable and read-only row of a customer's order history, made from aggregates: the order and its
+ *         lines are not loaded
+ */
+
+@XmlRootElement(name = "order")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class OrderSummary {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final Long id;
+    private final Date orderDate;
+    private final BigDecimal total;
+    private final int lineCount;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    // Needed by JAXB
+    private OrderSummary() {
+        this(null, null, null, 0);
+    }
+
+    public OrderSummary(Long id, Date orderDate, BigDecimal total, int lineCount) {
+        this.id = id;
+        this.orderDate = orderDate;
+        this.total = total;
+        this.lineCount = lineCount;
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public Long getId() {
+        return id;
+    }
+
+    public Date getOrderDate() {
+        return orderDate;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("OrderSummary");
+        sb.append("{id=").append(id);
+        sb.append(", orderDate=").append(orderDate);
+        sb.append(", total=").append(total);
+        sb.append(", lineCount=").append(lineCount);
+        sb.append('}');
+        return sb.toString();
+    }
+}
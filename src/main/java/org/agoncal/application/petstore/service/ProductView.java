@@ -0,0 +1,83 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Product;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Flat, immutable and read-only copy of a product, its category is referenced by id
+ */
+
+@XmlRootElement(name = "product")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class ProductView {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Long categoryId;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    // Needed by JAXB
+    private ProductView() {
+        this(null, null, null, null);
+    }
+
+    public ProductView(Long id, String name, String description, Long categoryId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.categoryId = categoryId;
+    }
+
+    public ProductView(Product product) {
+        this(product.getId(), product.getName(), product.getDescription(), product.getCategory().getId());
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("ProductView");
+        sb.append("{id=").append(id);
+        sb.append(", name='").append(name).append('\'');
+        sb.append(", categoryId=").append(categoryId);
+        sb.append('}');
+        return sb.toString();
+    }
+}
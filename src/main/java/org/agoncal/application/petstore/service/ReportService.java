@@ -0,0 +1,149 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Money;
+import org.agoncal.application.petstore.domain.PendingSales;
+import org.agoncal.application.petstore.domain.SalesAggregate;
+import org.agoncal.application.petstore.domain.SalesKey;
+import org.agoncal.application.petstore.exception.ValidationException;
+import org.agoncal.application.petstore.util.Loggable;
+
+import javax.ejb.Stateless;
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.TemporalType;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Sales reports, read from the sales aggregates only
+ */
+
+@Stateless
+@Loggable
+public class ReportService implements Serializable {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    public enum GroupBy {
+        DAY, CATEGORY, ITEM
+    }
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private EntityManager em;
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * @return the sales from one day to another (both included), by day, category or item
+     */
+    public List<SalesReportLine> findSales(final Date from, final Date to, final GroupBy groupBy) {
+        if (from == null || to == null || from.after(to))
+            throw new ValidationException("Invalid period");
+        if (groupBy == null)
+            throw new ValidationException("Invalid grouping");
+
+        String query;
+        switch (groupBy) {
+            case DAY:
+                query = SalesAggregate.SUM_BY_DAY;
+                break;
+            case CATEGORY:
+                query = SalesAggregate.SUM_BY_CATEGORY;
+                break;
+            default:
+                query = SalesAggregate.SUM_BY_ITEM;
+        }
+        List<Object[]> rows = em.createNamedQuery(query, Object[].class)
+                .setParameter("from", from, TemporalType.DATE)
+                .setParameter("to", to, TemporalType.DATE)
+                .getResultList();
+
+        List<SalesReportLine> report = new ArrayList<SalesReportLine>(rows.size());
+        for (Object[] row : rows) {
+            long quantity = ((Number) row[1]).longValue();
+            Money amount = Money.ofCents(((Number) row[2]).longValue());
+            long orderLines = ((Number) row[3]).longValue();
+            switch (groupBy) {
+                case DAY:
+                    report.add(new SalesReportLine((Date) row[0], null, null, quantity, amount.toBigDecimal(), orderLines));
+                    break;
+                case CATEGORY:
+                    report.add(new SalesReportLine(null, (Long) row[0], null, quantity, amount.toBigDecimal(), orderLines));
+                    break;
+                default:
+                    report.add(new SalesReportLine(null, null, (Long) row[0], quantity, amount.toBigDecimal(), orderLines));
+            }
+        }
+        return report;
+    }
+
+    /**
+     * @return the ids of the oldest sales not yet added to the aggregates
+     */
+    public List<Long> findPendingSales(final int limit) {
+        if (limit < 1)
+            throw new ValidationException("Invalid limit");
+
+        return em.createNamedQuery(PendingSales.FIND_IDS, Long.class).setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Adds the pending sales to the aggregates and deletes them, in one transaction. They are added up by
+     * aggregate first, so a best-selling item costs one update whatever the number of its sales. The pending sales
+     * are locked, those already added by another node in the meantime are gone and skipped.
+     *
+     * @return the number of pending sales added
+     */
+    public int addPendingSales(final List<Long> ids) {
+        if (ids == null || ids.isEmpty())
+            throw new ValidationException("Invalid ids");
+
+        List<PendingSales> pendingSales = em.createNamedQuery(PendingSales.FIND_BY_IDS, PendingSales.class)
+                .setParameter("ids", ids)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        Map<SalesKey, SalesAggregate> sales = new HashMap<SalesKey, SalesAggregate>();
+        for (PendingSales pending : pendingSales) {
+            SalesAggregate aggregate = sales.get(pending.getKey());
+            if (aggregate == null) {
+                aggregate = new SalesAggregate(pending.getKey());
+                sales.put(pending.getKey(), aggregate);
+            }
+            aggregate.add(pending);
+            em.remove(pending);
+        }
+        addSales(sales.values());
+        return pendingSales.size();
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    /**
+     * Adds the sales to the aggregates, which are created on the first sale of an item on a day. The rows are
+     * locked until the commit so that concurrent additions are never lost.
+     */
+    private void addSales(final Collection<SalesAggregate> sales) {
+        for (SalesAggregate delta : sales) {
+            SalesAggregate aggregate = em.find(SalesAggregate.class, delta.getKey(), LockModeType.PESSIMISTIC_WRITE);
+            if (aggregate == null) {
+                aggregate = new SalesAggregate(delta.getKey());
+                em.persist(aggregate);
+            }
+            aggregate.add(delta);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.util.ConfigProperty;
+import org.agoncal.application.petstore.util.Loggable;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.ejb.*;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Keeps the sales aggregates up to date. Each order records the sales of its lines as pending sales, in the
+ *         transaction that writes it: the orders never wait on the aggregate rows, and a crash loses none of them.
+ *         Every few milliseconds a BatchWriter adds the pending sales up, by day, category and item, and writes them
+ *         to the aggregates in the transaction that deletes them, so a best-selling item costs one update per batch
+ *         whatever the number of orders. The table is only read once orders have been written since the last
+ *         flush, and once at startup for the sales left by a crash.
+ */
+
+@Singleton
+@Startup
+@DependsOn("DBPopulator")
+@ConcurrencyManagement(ConcurrencyManagementType.BEAN)
+@Loggable
+public class SalesAggregator {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    // Pending sales added up in one transaction at most
+    private static final int BATCH_SIZE = 1000;
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private Logger logger;
+
+    @Inject
+    private ReportService reportService;
+
+    @Resource
+    private TimerService timerService;
+
+    @Inject
+    @ConfigProperty("salesFlushInterval")
+    private Integer flushInterval;
+
+    // A single writer, so that two flushes never create the same aggregate
+    private SalesWriter salesWriter;
+
+    // Whether sales may be pending, true at startup for the ones left by a crash
+    private volatile boolean pending = true;
+
+    // ======================================
+    // =          Lifecycle Methods         =
+    // ======================================
+
+    @PostConstruct
+    private void start() {
+        salesWriter = new SalesWriter();
+        salesWriter.start(timerService, flushInterval);
+    }
+
+    @PreDestroy
+    private void stop() {
+        flush();
+    }
+
+    @Timeout
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public void onTimeout() {
+        salesWriter.onTimeout();
+    }
+
+    // ======================================
+    // =          Observer Methods          =
+    // ======================================
+
+    /**
+     * The sales of the order are committed with it
+     */
+    public void onOrderWritten(@Observes(during = TransactionPhase.AFTER_SUCCESS) OrderEvent event) {
+        pending = true;
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * Writes the pending sales now
+     *
+     * @return the number of pending sales added to the aggregates
+     */
+    @TransactionAttribute(TransactionAttributeType.NOT_SUPPORTED)
+    public int flush() {
+        return salesWriter.flush();
+    }
+
+    // ======================================
+    // =            Inner Classes           =
+    // ======================================
+
+    private class SalesWriter extends BatchWriter<List<Long>> {
+
+        SalesWriter() {
+            super(logger, "Sales");
+        }
+
+        @Override
+        protected List<Long> take() {
+            if (!pending)
+                return null;
+            pending = false;
+            List<Long> ids = reportService.findPendingSales(BATCH_SIZE);
+            if (ids.isEmpty())
+                return null;
+            pending = true;
+            return ids;
+        }
+
+        @Override
+        protected int write(List<Long> ids) {
+            return reportService.addPendingSales(ids);
+        }
+    }
+}
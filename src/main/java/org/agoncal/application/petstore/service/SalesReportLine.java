@@ -0,0 +1,94 @@
+package org.agoncal.application.petstore.service;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlRootElement;
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Flat, immutable and read-only line of a sales report. Only the attribute the report is grouped by is set,
+ *         the day, the category id or the item id.
+ */
+
+@XmlRootElement(name = "sales")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class SalesReportLine {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private final Date day;
+    private final Long categoryId;
+    private final Long itemId;
+    private final long quantity;
+    private final BigDecimal amount;
+    private final long orderLines;
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    // Needed by JAXB
+    private SalesReportLine() {
+        this(null, null, null, 0, null, 0);
+    }
+
+    public SalesReportLine(Date day, Long categoryId, Long itemId, long quantity, BigDecimal amount, long orderLines) {
+        this.day = day;
+        this.categoryId = categoryId;
+        this.itemId = itemId;
+        this.quantity = quantity;
+        this.amount = amount;
+        this.orderLines = orderLines;
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    public Date getDay() {
+        return day;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public long getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public long getOrderLines() {
+        return orderLines;
+    }
+
+    // ======================================
+    // =   Methods hash, equals, toString   =
+    // ======================================
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("SalesReportLine");
+        sb.append("{day=").append(day);
+        sb.append(", categoryId=").append(categoryId);
+        sb.append(", itemId=").append(itemId);
+        sb.append(", quantity=").append(quantity);
+        sb.append(", amount=").append(amount);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,147 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Item;
+import org.agoncal.application.petstore.domain.Money;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Lines of a shopping cart by item id, in the order the items were added. Not thread safe: the carts, web
+ *         ones included, are kept by the CartStore which locks them. A cart is written as a count followed by the
+ *         ids, quantities, reserved units and prices of its lines, 24 bytes per line: that is the form the CartStore
+ *         keeps its idle carts in, off the heap, and its serialized form, with no class descriptor but its own.
+ */
+
+public class ShoppingCart implements Serializable {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    // Carts written by one node are read by the others, their serialized form does not depend on the build
+    private static final long serialVersionUID = 1L;
+
+    // The lines are written by writeObject, without the descriptors of the default serialized form
+    private static final ObjectStreamField[] serialPersistentFields = {};
+
+    // Item id, quantity, reserved units and unit cost in cents
+    private static final int LINE_LENGTH = 24;
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private transient Map<Long, CartLine> lines = new LinkedHashMap<Long, CartLine>();
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * Adds one unit of the item, in a new line or in the one already holding it
+     *
+     * @return the line of the item
+     */
+    public CartLine add(Item item) {
+        CartLine line = lines.get(item.getId());
+        if (line != null)
+            line.setQuantity(line.getQuantity() + 1);
+        else
+            lines.put(item.getId(), line = new CartLine(item, 1));
+        return line;
+    }
+
+    /**
+     * @return the removed line or null if the item was not in the cart
+     */
+    public CartLine remove(Long itemId) {
+        return lines.remove(itemId);
+    }
+
+    public CartLine getLine(Long itemId) {
+        return lines.get(itemId);
+    }
+
+    public Collection<CartLine> getLines() {
+        return Collections.unmodifiableCollection(lines.values());
+    }
+
+    public Set<Long> getItemIds() {
+        return Collections.unmodifiableSet(lines.keySet());
+    }
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    public int size() {
+        return lines.size();
+    }
+
+    public void clear() {
+        lines.clear();
+    }
+
+    /**
+     * @return the total at the prices of the cart
+     */
+    public Money getTotal() {
+        long total = 0;
+        for (CartLine line : lines.values()) {
+            total += line.getSubTotalInCents();
+        }
+        return Money.ofCents(total);
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        writeTo(out);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException {
+        readFrom(in);
+    }
+
+    // ======================================
+    // =            Compact form            =
+    // ======================================
+
+    /**
+     * @return number of bytes written by writeTo
+     */
+    int getLength() {
+        return 4 + LINE_LENGTH * lines.size();
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(lines.size());
+        for (CartLine line : lines.values()) {
+            out.writeLong(line.getItemId());
+            out.writeInt(line.getQuantity());
+            out.writeInt(line.getReserved());
+            out.writeLong(line.getUnitCostInCents());
+        }
+    }
+
+    void readFrom(DataInput in) throws IOException {
+        int size = in.readInt();
+        lines = new LinkedHashMap<Long, CartLine>(size * 2);
+        for (int i = 0; i < size; i++) {
+            CartLine line = new CartLine(in.readLong(), in.readInt(), in.readInt(), in.readLong());
+            lines.put(line.getItemId(), line);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.agoncal.application.petstore.tomee;
+
+import org.agoncal.application.petstore.service.CatalogCache;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.management.Description;
+import javax.management.MBean;
+import javax.management.ManagedAttribute;
+import javax.management.ManagedOperation;
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Hits and misses of the catalog snapshot. The ones of the JPA data and query caches underneath are published
+ * by the persistence provider itself (see persistence.xml).
+ */
+@MBean
+@Description("Catalog cache info")
+@ApplicationScoped
+public class CatalogMBean {
+    @Inject
+    private CatalogCache catalogCache;
+
+    @Inject
+    private EntityManagerFactory emf;
+
+    @ManagedAttribute
+    @Description("catalog version, changes on every create, update or remove made on this node")
+    public long getVersion() {
+        return catalogCache.getVersion();
+    }
+
+    @ManagedAttribute
+    @Description("number of catalog reads served from memory since the instance is up")
+    public long getHits() {
+        return catalogCache.getHits();
+    }
+
+    @ManagedAttribute
+    @Description("number of catalog reads that reloaded the catalog from the database since the instance is up")
+    public long getMisses() {
+        return catalogCache.getMisses();
+    }
+
+    @ManagedOperation
+    @Description("reset")
+    public void reset() {
+        catalogCache.resetStatistics();
+    }
+
+    @ManagedOperation
+    @Description("drops the catalog snapshot and the JPA second-level cache, the next reads reload them")
+    public void evictAll() {
+        catalogCache.invalidate();
+        emf.getCache().evictAll();
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
 import javax.management.Description;
 import javax.management.MBean;
 import javax.management.ManagedAttribute;
@@ -19,6 +20,8 @@ import javax.management.openmbean.TabularData;
 import javax.management.openmbean.TabularDataSupport;
 import javax.management.openmbean.TabularType;
 
+import org.agoncal.application.petstore.service.OrderQueue;
+
 @MBean
 @Description("Order info")
 @ApplicationScoped
@@ -26,6 +29,9 @@ public class OrderMBean {
     private final Map<String, AtomicInteger> orderByCustomer = new ConcurrentHashMap<String, AtomicInteger>();
     private AtomicInteger orderNumber = new AtomicInteger();
 
+    @Inject
+    private OrderQueue orderQueue;
+
     @ManagedAttribute
     @Description("number of order since the instance is up")
     public int getOrderNumber() {
@@ -42,11 +48,66 @@ public class OrderMBean {
         return tabularData("order/customer", "Order by customer", properties);
     }
 
+    @ManagedAttribute
+    @Description("whether accepted orders are queued and written by batches")
+    public boolean getWriteBehind() {
+        return orderQueue.isEnabled();
+    }
+
+    @ManagedAttribute
+    public void setWriteBehind(final boolean writeBehind) {
+        orderQueue.setEnabled(writeBehind);
+    }
+
+    @ManagedAttribute
+    @Description("number of accepted orders waiting to be written")
+    public int getQueueDepth() {
+        return orderQueue.getDepth();
+    }
+
+    @ManagedAttribute
+    @Description("number of orders the queue can hold, the next ones are written right away")
+    public int getQueueCapacity() {
+        return orderQueue.getCapacity();
+    }
+
+    @ManagedAttribute
+    @Description("largest number of orders written in one transaction")
+    public int getBatchSize() {
+        return orderQueue.getBatchSize();
+    }
+
+    @ManagedAttribute
+    @Description("number of orders written by the last batch")
+    public int getLastBatchSize() {
+        return orderQueue.getLastBatchSize();
+    }
+
+    @ManagedAttribute
+    @Description("average number of orders written by batch since the instance is up")
+    public double getAverageBatchSize() {
+        long batches = orderQueue.getBatches();
+        return batches == 0 ? 0 : (double) orderQueue.getWrittenOrders() / batches;
+    }
+
+    @ManagedAttribute
+    @Description("number of queued orders that could not be written since the instance is up, see t_failed_order")
+    public long getFailedOrders() {
+        return orderQueue.getFailedOrders();
+    }
+
+    @ManagedOperation
+    @Description("writes the queued orders now")
+    public int flush() {
+        return orderQueue.flush();
+    }
+
     @ManagedOperation
     @Description("reset")
     public void reset() {
         orderNumber.set(0);
         orderByCustomer.clear();
+        orderQueue.resetStatistics();
     }
 
     public void incr(final String fullname) {
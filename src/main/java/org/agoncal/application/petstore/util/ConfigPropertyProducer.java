@@ -38,4 +38,20 @@ public class ConfigPropertyProducer {
 
         return props.getProperty(key);
     }
+
+    @Produces
+    @ConfigProperty
+    public static Integer produceIntegerConfigProperty(InjectionPoint ip) {
+        String value = produceConfigProperty(ip);
+
+        return value == null ? null : Integer.valueOf(value.trim());
+    }
+
+    @Produces
+    @ConfigProperty
+    public static Boolean produceBooleanConfigProperty(InjectionPoint ip) {
+        String value = produceConfigProperty(ip);
+
+        return value == null ? null : Boolean.valueOf(value.trim());
+    }
 }
@@ -2,7 +2,9 @@ package org.agoncal.application.petstore.util;
 
 import javax.enterprise.inject.Produces;
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceUnit;
 
 /**
  * @author Antonio Goncalves
@@ -19,4 +21,8 @@ public class DatabaseProducer {
     @Produces
     @PersistenceContext(unitName = "applicationPetstorePU")
     private EntityManager em;
+
+    @Produces
+    @PersistenceUnit(unitName = "applicationPetstorePU")
+    private EntityManagerFactory emf;
 }
@@ -0,0 +1,56 @@
+package org.agoncal.application.petstore.util;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Days as the REST services read them and the exports write them (yyyy-MM-dd). They are parsed strictly.
+ */
+
+public final class Days {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    private static final String DAY_PATTERN = "yyyy-MM-dd";
+
+    // ======================================
+    // =            Constructors            =
+    // ======================================
+
+    private Days() {
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    /**
+     * @return the day, null if it is missing or not a day
+     */
+    public static Date parse(String day) {
+        if (day == null)
+            return null;
+
+        try {
+            return newFormat().parse(day);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return a strict format of the days, to be used by one thread only
+     */
+    public static DateFormat newFormat() {
+        SimpleDateFormat format = new SimpleDateFormat(DAY_PATTERN);
+        format.setLenient(false);
+        return format;
+    }
+}
@@ -6,23 +6,36 @@ import org.agoncal.application.petstore.domain.Product;
 import org.agoncal.application.petstore.service.CatalogService;
 import org.agoncal.application.petstore.util.Loggable;
 
-import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.faces.context.FacesContext;
 import javax.inject.Inject;
 import javax.inject.Named;
-import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Antonio Goncalves
  *         http://www.antoniogoncalves.org
  *         --
+ *         Catalog browsing. Nothing is kept in the session: the category, product, item or keyword of a page are
+ *         request parameters, remembered in the view map for the postbacks of the page (adding an item to the cart),
+ *         and the entities are read from the shared catalog snapshot for each request.
  */
 
 @Named
-//@RequestScoped
 @Loggable
-@SessionScoped
-public class CatalogController extends Controller implements Serializable {
+@RequestScoped
+public class CatalogController extends Controller {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    // Keys of the ids remembered in the view map
+    private static final String CATEGORY_NAME = "catalog.categoryName";
+    private static final String PRODUCT_ID = "catalog.productId";
+    private static final String ITEM_ID = "catalog.itemId";
+    private static final String KEYWORD = "catalog.keyword";
 
     // ======================================
     // =             Attributes             =
@@ -34,12 +47,12 @@ public class CatalogController extends Controller implements Serializable {
     private String categoryName;
     private Long productId;
     private Long itemId;
-
     private String keyword;
+
+    // Read from the catalog snapshot when first needed by the request
     private Category category;
     private Product product;
     private Item item;
-    private List<Product> products;
     private List<Item> items;
 
     // ======================================
@@ -49,9 +62,9 @@ public class CatalogController extends Controller implements Serializable {
     public String doFindProducts() {
         String navigateTo = null;
         try {
-
-            category = catalogService.findCategory(categoryName);
-            products = category.getProducts();
+            remember(CATEGORY_NAME, categoryName);
+            category = null;
+            getCategory();
             navigateTo = "showproducts.faces";
         } catch (Exception e) {
             addMessage(this.getClass().getName(), "doFindProducts", e);
@@ -63,8 +76,10 @@ public class CatalogController extends Controller implements Serializable {
         String navigateTo = null;
 
         try {
-            product = catalogService.findProduct(productId);
-            items = product.getItems();
+            remember(PRODUCT_ID, productId);
+            product = null;
+            items = null;
+            getItems();
             navigateTo = "showitems.faces";
         } catch (Exception e) {
             addMessage(this.getClass().getName(), "doFindItems", e);
@@ -76,7 +91,10 @@ public class CatalogController extends Controller implements Serializable {
         String navigateTo = null;
 
         try {
-            item = catalogService.findItem(getParamId("itemId"));
+            itemId = getParamId("itemId");
+            remember(ITEM_ID, itemId);
+            item = null;
+            getItem();
             navigateTo = "showitem.faces";
         } catch (Exception e) {
             addMessage(this.getClass().getName(), "doFindItem", e);
@@ -88,7 +106,9 @@ public class CatalogController extends Controller implements Serializable {
         String navigateTo = null;
 
         try {
-            items = catalogService.searchItems(keyword);
+            remember(KEYWORD, keyword);
+            items = null;
+            getItems();
             navigateTo = "searchresult.faces";
         } catch (Exception e) {
             addMessage(this.getClass().getName(), "doSearch", e);
@@ -96,40 +116,76 @@ public class CatalogController extends Controller implements Serializable {
         return navigateTo;
     }
 
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private void remember(String key, Object value) {
+        if (value != null)
+            FacesContext.getCurrentInstance().getViewRoot().getViewMap().put(key, value);
+    }
+
+    /**
+     * @return the value set by the request, or else the one remembered by the view
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T recall(String key, T value) {
+        if (value != null)
+            return value;
+
+        FacesContext context = FacesContext.getCurrentInstance();
+        if (context == null || context.getViewRoot() == null)
+            return null;
+        Map<String, Object> viewMap = context.getViewRoot().getViewMap(false);
+        return viewMap == null ? null : (T) viewMap.get(key);
+    }
+
     // ======================================
     // =         Getters & setters          =
     // ======================================
 
     public Category getCategory() {
+        if (category == null) {
+            String name = recall(CATEGORY_NAME, categoryName);
+            if (name != null)
+                category = catalogService.findCategory(name);
+        }
         return category;
     }
 
-    public void setCategory(Category category) {
-        this.category = category;
-    }
-
     public Product getProduct() {
+        if (product == null) {
+            Long id = recall(PRODUCT_ID, productId);
+            if (id != null)
+                product = catalogService.findProductWithItems(id);
+        }
         return product;
     }
 
-    public void setProduct(Product product) {
-        this.product = product;
-    }
-
     public Item getItem() {
+        if (item == null) {
+            Long id = recall(ITEM_ID, itemId);
+            if (id != null)
+                item = catalogService.findItem(id);
+        }
         return item;
     }
 
-    public void setItem(Item item) {
-        this.item = item;
-    }
-
-
     public List<Product> getProducts() {
-        return products;
+        return getCategory() == null ? null : category.getProducts();
     }
 
+    /**
+     * @return the items found by the keyword of a search, or else the items of the product
+     */
     public List<Item> getItems() {
+        if (items == null) {
+            String search = recall(KEYWORD, keyword);
+            if (search != null)
+                items = catalogService.searchItems(search);
+            else if (getProduct() != null)
+                items = product.getItems();
+        }
         return items;
     }
 
@@ -164,4 +220,4 @@ public class CatalogController extends Controller implements Serializable {
     public void setItemId(Long itemId) {
         this.itemId = itemId;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,153 @@
+package org.agoncal.application.petstore.web;
+
+import org.agoncal.application.petstore.domain.Customer;
+import org.agoncal.application.petstore.service.OrderService;
+import org.agoncal.application.petstore.service.OrderSnapshot;
+import org.agoncal.application.petstore.service.OrderSummary;
+import org.agoncal.application.petstore.util.ConfigProperty;
+import org.agoncal.application.petstore.util.Loggable;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Order history of the logged in customer, a page of order summaries at a time and the selected order with
+ *         its lines, from the order cache. Nothing is kept in the session: the links of the page send the key of the
+ *         page they were clicked on as a request parameter, and the page is read again for each request.
+ */
+
+@Named
+@Loggable
+@RequestScoped
+public class OrderController extends Controller {
+
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    // Request parameter of the links of the orders page, the key of the page shown
+    private static final String BEFORE_ID = "beforeId";
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private OrderService orderService;
+
+    @Inject
+    @LoggedIn
+    private Instance<Customer> customerInstances;
+
+    @Inject
+    @ConfigProperty("orderHistoryPageSize")
+    private Integer pageSize;
+
+    // Key of the page shown, the orders older than this id, or the newest ones if null
+    private Long beforeId;
+
+    // Read when first needed by the request
+    private List<OrderSummary> orders;
+    private boolean olderOrders;
+    private OrderSnapshot order;
+
+    // ======================================
+    // =          Lifecycle Methods         =
+    // ======================================
+
+    @PostConstruct
+    private void recallPage() {
+        String param = getParam(BEFORE_ID);
+        if (param != null && !param.isEmpty())
+            beforeId = Long.valueOf(param);
+    }
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    public String doFindOrders() {
+        return findOrders(null);
+    }
+
+    public String doFindOlderOrders() {
+        List<OrderSummary> shown = getOrders();
+        if (shown == null || shown.isEmpty())
+            return findOrders(null);
+        return findOrders(shown.get(shown.size() - 1).getId());
+    }
+
+    public String doFindOrderLines() {
+        String navigateTo = null;
+        try {
+            order = orderService.findOrderSnapshot(customerInstances.get(), getParamId("orderId"));
+            getOrders();
+            navigateTo = "showorders.faces";
+        } catch (Exception e) {
+            addMessage(this.getClass().getName(), "doFindOrderLines", e);
+        }
+        return navigateTo;
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private String findOrders(Long beforeId) {
+        String navigateTo = null;
+        try {
+            this.beforeId = beforeId;
+            orders = null;
+            order = null;
+            getOrders();
+            navigateTo = "showorders.faces";
+        } catch (Exception e) {
+            addMessage(this.getClass().getName(), "findOrders", e);
+        }
+        return navigateTo;
+    }
+
+    // ======================================
+    // =         Getters & setters          =
+    // ======================================
+
+    /**
+     * One more order than the page size is read to know whether there are older ones
+     *
+     * @return the orders of the page shown, null if no customer is logged in
+     */
+    public List<OrderSummary> getOrders() {
+        Customer customer = customerInstances.get();
+        if (orders == null && customer != null) {
+            orders = orderService.findOrders(customer, beforeId, pageSize + 1);
+            olderOrders = orders.size() > pageSize;
+            if (olderOrders)
+                orders = new ArrayList<OrderSummary>(orders.subList(0, pageSize));
+        }
+        return orders;
+    }
+
+    public boolean isOlderOrders() {
+        getOrders();
+        return olderOrders;
+    }
+
+    public Long getBeforeId() {
+        return beforeId;
+    }
+
+    /**
+     * @return the selected order with its lines, or null
+     */
+    public OrderSnapshot getOrder() {
+        return order;
+    }
+}
@@ -1,42 +1,64 @@
 package org.agoncal.application.petstore.web;
 
 import org.agoncal.application.petstore.domain.*;
-import org.agoncal.application.petstore.service.CatalogService;
-import org.agoncal.application.petstore.service.OrderService;
+import org.agoncal.application.petstore.exception.ValidationException;
+import org.agoncal.application.petstore.service.CartStore;
+import org.agoncal.application.petstore.service.CartView;
+import org.agoncal.application.petstore.service.OrderLineView;
+import org.agoncal.application.petstore.service.OrderSnapshot;
+import org.agoncal.application.petstore.tomee.OrderMBean;
+import org.agoncal.application.petstore.util.ConfigProperty;
 
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.Conversation;
 import javax.enterprise.context.ConversationScoped;
 import javax.enterprise.inject.Instance;
+import javax.faces.context.FacesContext;
 import javax.inject.Inject;
 import javax.inject.Named;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import org.agoncal.application.petstore.tomee.OrderMBean;
+import java.util.Map;
 
 /**
  * @author Antonio Goncalves
  *         http://www.antoniogoncalves.org
  *         --
+ *         Web shopping cart. The cart itself is kept by the CartStore, like the carts of the REST API: the
+ *         conversation only holds its token, so a passivated or replicated session carries a few bytes for it. The
+ *         store reserves the units, checks the prices and keeps idle carts off the heap. A cart lives on the node
+ *         that created it, which the sticky session keeps serving it.
  */
 
 @Named
 @ConversationScoped
 public class ShoppingCartController extends Controller implements Serializable {
 
+    // ======================================
+    // =             Constants              =
+    // ======================================
+
+    // Conversations are replicated between nodes, which may not run the same build
+    private static final long serialVersionUID = 1L;
+
+    // Request attributes holding the cart and the quantities typed in its page, read once per request
+    private static final String CART = ShoppingCartController.class.getName() + ".cart";
+    private static final String QUANTITIES = ShoppingCartController.class.getName() + ".quantities";
+
     // ======================================
     // =             Attributes             =
     // ======================================
 
     @Inject
-    private CatalogService catalogBean;
-    @Inject
-    private OrderService orderBean;
+    private CartStore cartStore;
 
     @Inject
     private Conversation conversation;
 
-    private List<CartItem> cartItems;
+    // Token of the cart in the CartStore, null until the first item is added
+    private String cartToken;
 
     private CreditCard creditCard = new CreditCard();
 
@@ -47,7 +69,13 @@ public class ShoppingCartController extends Controller implements Serializable {
     @Inject
     private OrderMBean mbean;
 
-    private Order order;
+    // Only shown by the page that follows the confirmation, the conversation has ended by then
+    private transient OrderSnapshot confirmedOrder;
+
+    // Seconds an unused cart is kept, its conversation ends then
+    @Inject
+    @ConfigProperty("cartTimeToLive")
+    private Integer timeToLive;
 
     // ======================================
     // =              Public Methods        =
@@ -56,26 +84,33 @@ public class ShoppingCartController extends Controller implements Serializable {
     public String addItemToCart() {
         String navigateTo = null;
         try {
-            Item item = catalogBean.findItem(getParamId("itemId"));
+            Long itemId = getParamId("itemId");
+
+            // A new cart is created for the first item, or if the previous one has expired
+            CartView cart = cartToken == null ? null : cartStore.add(cartToken, itemId, 1);
+            if (cart == null) {
+                String token = cartStore.create();
+                if (token == null) {
+                    addWarningMessage("Too many shopping carts are open, please try again later");
+                    return null;
+                }
+                try {
+                    cart = cartStore.add(token, itemId, 1);
+                } catch (ValidationException e) {
+                    cartStore.discard(token);
+                    throw e;
+                }
+                cartToken = token;
+            }
+            setCart(cart);
 
             // Start conversation
             if (conversation.isTransient()) {
-                cartItems = new ArrayList<CartItem>();
                 conversation.begin();
+                // An abandoned cart is dropped with its conversation and its units given back
+                conversation.setTimeout(timeToLive * 1000L);
             }
 
-            boolean itemFound = false;
-            for (CartItem cartItem : cartItems) {
-                // If item already exists in the shopping cart we just change the quantity
-                if (cartItem.getItem().equals(item)) {
-                    cartItem.setQuantity(cartItem.getQuantity() + 1);
-                    itemFound = true;
-                }
-            }
-            if (!itemFound)
-                // Otherwise it's added to the shopping cart
-                cartItems.add(new CartItem(item, 1));
-
             navigateTo = "showcart.faces";
         } catch (Exception e) {
             addMessage(this.getClass().getName(), "addItemToCart", e);
@@ -87,22 +122,33 @@ public class ShoppingCartController extends Controller implements Serializable {
         String navigateTo = null;
 
         try {
-            Item item = catalogBean.findItem(getParamId("itemId"));
-
-            for (CartItem cartItem : cartItems) {
-                if (cartItem.getItem().equals(item)) {
-                    cartItems.remove(cartItem);
-                    return null;
-                }
-            }
-
+            if (cartToken != null)
+                setCart(cartStore.remove(cartToken, getParamId("itemId")));
         } catch (Exception e) {
             addMessage(this.getClass().getName(), "removeItemFromCart", e);
         }
         return navigateTo;
     }
 
+    /**
+     * The quantities typed in the cart page are set one line at a time, a quantity that can't be reserved is left as
+     * it was
+     */
     public String updateQuantity() {
+        if (cartToken == null)
+            return null;
+
+        for (Map.Entry<Long, Integer> quantity : getQuantities().entrySet()) {
+            try {
+                CartView cart = cartStore.setQuantity(cartToken, quantity.getKey(), quantity.getValue());
+                if (cart == null)
+                    break;
+                setCart(cart);
+            } catch (ValidationException e) {
+                addWarningMessage(e.getMessage());
+            }
+        }
+        FacesContext.getCurrentInstance().getAttributes().remove(QUANTITIES);
         return null;
     }
 
@@ -114,44 +160,100 @@ public class ShoppingCartController extends Controller implements Serializable {
         String navigateTo = null;
 
         try {
-            order = orderBean.createOrder(getCustomer(), creditCard, getCartItems());
-            cartItems.clear();
+            OrderSnapshot order = cartToken == null ? null : cartStore.checkout(cartToken, getCustomer(), creditCard);
+            if (order == null) {
+                addWarningMessage("The shopping cart has expired");
+                return null;
+            }
+            confirmedOrder = order;
+            // The reserved units are the order's now
+            cartToken = null;
 
             // Stop conversation
             if (!conversation.isTransient()) {
                 conversation.end();
             }
 
-            mbean.incr(order.getCustomer().getFullname());
+            mbean.incr(order.getCustomerName());
 
             navigateTo = "orderconfirmed.faces";
         } catch (Exception e) {
+            // A price that has changed is taken by the cart, the new total is shown before the order is confirmed
             addMessage(this.getClass().getName(), "confirmOrder", e);
         }
         return navigateTo;
     }
 
-    public List<CartItem> getCartItems() {
-        return cartItems;
+    /**
+     * A cart left when the conversation ends or times out, without an order, is discarded and its units given back
+     */
+    @PreDestroy
+    public void discardCart() {
+        if (cartToken == null)
+            return;
+
+        cartStore.discard(cartToken);
+        cartToken = null;
+    }
+
+    /**
+     * @return the lines of the cart with the names of their items, at the prices of the cart
+     */
+    public List<OrderLineView> getCartLines() {
+        CartView cart = getCart();
+        return cart == null ? new ArrayList<OrderLineView>() : cart.getCartLines();
+    }
+
+    /**
+     * @return the quantities of the cart page by item id, as typed in this request
+     */
+    public Map<Long, Integer> getQuantities() {
+        Map<Object, Object> attributes = FacesContext.getCurrentInstance().getAttributes();
+        @SuppressWarnings("unchecked")
+        Map<Long, Integer> quantities = (Map<Long, Integer>) attributes.get(QUANTITIES);
+        if (quantities == null) {
+            quantities = new HashMap<Long, Integer>();
+            for (OrderLineView cartLine : getCartLines()) {
+                quantities.put(cartLine.getItemId(), cartLine.getQuantity());
+            }
+            attributes.put(QUANTITIES, quantities);
+        }
+        return quantities;
     }
 
     public boolean shoppingCartIsEmpty() {
-        return getCartItems() == null || getCartItems().size() == 0;
+        return getCartLines().isEmpty();
     }
 
 
-    public Float getTotal() {
+    public Money getTotal() {
+        CartView cart = getCart();
+        if (cart == null)
+            return Money.ZERO;
 
-        if (cartItems == null || cartItems.isEmpty())
-            return 0f;
+        // Summed up by the store, at the prices of the cart
+        return Money.valueOf(cart.getTotal());
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
 
-        Float total = 0f;
+    /**
+     * @return the cart as it is in the store, read once per request, or null if there is none or it has expired
+     */
+    private CartView getCart() {
+        if (cartToken == null)
+            return null;
+
+        Map<Object, Object> attributes = FacesContext.getCurrentInstance().getAttributes();
+        if (!attributes.containsKey(CART))
+            attributes.put(CART, cartStore.find(cartToken));
+        return (CartView) attributes.get(CART);
+    }
 
-        // Sum up the quantities
-        for (CartItem cartItem : cartItems) {
-            total += (cartItem.getSubTotal());
-        }
-        return total;
+    private void setCart(CartView cart) {
+        FacesContext.getCurrentInstance().getAttributes().put(CART, cart);
     }
 
     // ======================================
@@ -171,12 +273,8 @@ public class ShoppingCartController extends Controller implements Serializable {
         this.creditCard = creditCard;
     }
 
-    public Order getOrder() {
-        return order;
-    }
-
-    public void setOrder(Order order) {
-        this.order = order;
+    public OrderSnapshot getConfirmedOrder() {
+        return confirmedOrder;
     }
 
     public Conversation getConversation() {
@@ -0,0 +1,9 @@
+-- Keeps on each order line the price it was sold at. To be run once, with the application stopped, on a database
+-- created before OrderLine.unitCost was mapped (Derby syntax). The price of the lines already written is not known,
+-- they are given the current unit cost of their item.
+
+ALTER TABLE OrderLine ADD COLUMN unit_cost DECIMAL(10, 2);
+
+UPDATE OrderLine SET unit_cost = (SELECT i.unitCost FROM Item i WHERE i.id = OrderLine.item_fk);
+
+ALTER TABLE OrderLine ALTER COLUMN unit_cost NOT NULL;
@@ -0,0 +1,11 @@
+-- Fills the t_sales aggregates from the orders written before they were kept up to date. To be run once, with the
+-- application stopped, on an empty t_sales table (Derby syntax), after add-order-line-unit-cost.sql. The amounts are
+-- computed with the price each line was sold at.
+
+INSERT INTO t_sales (sales_day, category_id, item_id, quantity, amount_cents, order_lines)
+SELECT o.order_date, p.category_fk, l.item_fk, SUM(l.quantity), CAST(SUM(l.quantity * l.unit_cost) * 100 AS BIGINT), COUNT(*)
+FROM t_order o
+  JOIN OrderLine l ON l.order_fk = o.id
+  JOIN Item i ON i.id = l.item_fk
+  JOIN Product p ON p.id = i.product_fk
+GROUP BY o.order_date, p.category_fk, l.item_fk;
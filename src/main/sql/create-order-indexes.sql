@@ -0,0 +1,11 @@
+-- Indexes of the customer order history. The generated schema only has the foreign key indexes: a page of
+-- orders would otherwise sort all the orders of the customer. With this one it is read in key order and
+-- stops after the page, whatever the number of orders (Derby syntax).
+
+CREATE INDEX IDX_ORDER_CUSTOMER_ID ON t_order (customer_fk, id);
+
+-- Order exports read a range of days of the orders
+CREATE INDEX IDX_ORDER_DATE ON t_order (order_date);
+
+-- Sales reports read a range of days of the aggregates
+CREATE INDEX IDX_SALES_DAY ON t_sales (sales_day);
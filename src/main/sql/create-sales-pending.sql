@@ -0,0 +1,13 @@
+-- Sales recorded with each order and not yet added to the t_sales aggregates. To be run once, with the application
+-- stopped, on a database created before PendingSales was mapped (Derby syntax). The sales of the orders written
+-- before are in t_sales already, the table starts empty.
+
+CREATE TABLE t_sales_pending (
+  id           BIGINT  NOT NULL,
+  sales_day    DATE    NOT NULL,
+  category_id  BIGINT  NOT NULL,
+  item_id      BIGINT  NOT NULL,
+  quantity     INTEGER NOT NULL,
+  amount_cents BIGINT  NOT NULL,
+  PRIMARY KEY (id)
+);
@@ -0,0 +1,16 @@
+-- Moves the order lines from the t_order_order_line join table to a foreign key column of OrderLine. To be run
+-- once, with the application stopped, on a database created before OrderLine.order was mapped (Derby syntax).
+
+ALTER TABLE OrderLine ADD COLUMN order_fk BIGINT;
+
+UPDATE OrderLine SET order_fk = (SELECT j.order_fk FROM t_order_order_line j WHERE j.order_line_fk = OrderLine.id);
+
+-- Lines that belonged to no order can not be kept
+DELETE FROM OrderLine WHERE order_fk IS NULL;
+
+ALTER TABLE OrderLine ALTER COLUMN order_fk NOT NULL;
+
+-- Derby backs the constraint with an index, the lines of an order are read through it
+ALTER TABLE OrderLine ADD CONSTRAINT FK_ORDERLINE_ORDER FOREIGN KEY (order_fk) REFERENCES t_order (id);
+
+DROP TABLE t_order_order_line;
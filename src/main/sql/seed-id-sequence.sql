@@ -0,0 +1,22 @@
+-- Seeds the "ids" table generator of orm.xml past the ids already given to the entities that share it. To be run
+-- once, with the application stopped, on a database created before these entities moved from the AUTO strategy to
+-- the shared generator (Derby syntax), otherwise their new ids collide with the existing rows. Orders are not
+-- concerned: the IdAllocator seeds their blocks from their max id itself.
+
+-- Skip if the application already created the table at its last start
+CREATE TABLE t_sequence (
+  name       VARCHAR(255) NOT NULL,
+  next_value BIGINT,
+  PRIMARY KEY (name)
+);
+
+-- A row left by a start on the migrated schema may be behind the existing ids
+DELETE FROM t_sequence WHERE name = 'ids';
+
+INSERT INTO t_sequence (name, next_value)
+  SELECT 'ids', COALESCE(MAX(m.id), 0) + 1
+  FROM (SELECT MAX(id) AS id FROM Category
+        UNION ALL SELECT MAX(id) FROM Product
+        UNION ALL SELECT MAX(id) FROM Item
+        UNION ALL SELECT MAX(id) FROM Customer
+        UNION ALL SELECT MAX(id) FROM OrderLine) m;
@@ -10,8 +10,11 @@ import org.junit.runner.RunWith;
 
 import javax.inject.Inject;
 import javax.validation.Validator;
+import java.io.*;
+import java.util.Date;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  * @author Antonio Goncalves
@@ -51,4 +54,37 @@ public class CustomerTest {
         // Checks the object is valid
         assertEquals("Should have not constraint violation", 0, validator.validate(customer).size());
     }
+
+    @Test
+    public void shouldSerializeACustomerInItsCompactForm() throws Exception {
+
+        // Creates an object
+        Address address = new Address("Abbey road", "Liverpool", "SW17", "UK");
+        Customer customer = new Customer("Paul", "Mc Cartney", "pmac", "pmac", "paul@beales.com", address);
+        customer.setDateOfBirth(new Date(-870048000000L));
+        customer.calculateAge();
+
+        // Writes and reads it back
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(customer);
+        out.close();
+        Customer read = (Customer) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+        // Checks the fields and the address are back, the age computed again
+        assertNull(read.getId());
+        assertEquals(customer, read);
+        assertEquals("Paul", read.getFirstname());
+        assertEquals("Mc Cartney", read.getLastname());
+        assertEquals("pmac", read.getPassword());
+        assertEquals("paul@beales.com", read.getEmail());
+        assertNull(read.getTelephone());
+        assertEquals(customer.getDateOfBirth(), read.getDateOfBirth());
+        assertEquals(customer.getAge(), read.getAge());
+        assertEquals("Abbey road", read.getHomeAddress().getStreet1());
+        assertNull(read.getHomeAddress().getStreet2());
+        assertEquals("Liverpool", read.getHomeAddress().getCity());
+        assertEquals("SW17", read.getHomeAddress().getZipcode());
+        assertEquals("UK", read.getHomeAddress().getCountry());
+    }
 }
\ No newline at end of file
@@ -13,6 +13,7 @@ import javax.validation.Validator;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.Marshaller;
 import java.io.StringWriter;
+import java.math.BigDecimal;
 
 import static org.junit.Assert.assertEquals;
 
@@ -50,7 +51,7 @@ public class ItemTest {
         // Creates an object
         Category category = new Category("Fish", "Any of numerous cold-blooded aquatic vertebrates characteristically having fins, gills, and a streamlined body");
         Product product = new Product("Bulldog", "Friendly dog from England", category);
-        Item item = new Item("Thootless fish", 10f, "fish1.gif", product, "desc");
+        Item item = new Item("Thootless fish", new BigDecimal("10.00"), "fish1.gif", product, "desc");
 
         // Checks the object is valid
         assertEquals("Should have not constraint violation", 0, validator.validate(item).size());
@@ -62,7 +63,7 @@ public class ItemTest {
         // Creates an object
         Category category = new Category("Fish", "Any of numerous cold-blooded aquatic vertebrates characteristically having fins, gills, and a streamlined body");
         Product product = new Product("Bulldog", "Friendly dog from England", category);
-        Item item = new Item("Thootless fish", 10f, "fish1.gif", product, "desc");
+        Item item = new Item("Thootless fish", new BigDecimal("10.00"), "fish1.gif", product, "desc");
 
         // Marshalls it to XML
         StringWriter writer = new StringWriter();
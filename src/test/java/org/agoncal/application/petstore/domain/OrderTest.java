@@ -10,6 +10,8 @@ import org.junit.runner.RunWith;
 
 import javax.inject.Inject;
 import javax.validation.Validator;
+import java.math.BigDecimal;
+import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
 
@@ -33,7 +35,7 @@ public class OrderTest {
     @Deployment
     public static JavaArchive jar() {
         return ShrinkWrap.create(JavaArchive.class)
-                .addClasses(Address.class, Customer.class, CreditCard.class, Order.class)
+                .addClasses(Address.class, Customer.class, CreditCard.class, Order.class, OrderLine.class, Item.class, Money.class)
                 .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
     }
 
@@ -53,4 +55,26 @@ public class OrderTest {
         // Checks the object is valid
         assertEquals("Should have not constraint violation", 0, validator.validate(order).size());
     }
+
+    @Test
+    public void shouldSumUpTheTotalInCents() {
+
+        // Creates an order of three lines
+        Address address = new Address("Abbey road", "Liverpool", "SW17", "UK");
+        Customer customer = new Customer("Paul", "Mc Cartney", "pmac", "pmac", "paul@beales.com", address);
+        Order order = new Order(customer, new CreditCard("123456789", CreditCardType.VISA, "12/45"), address);
+        Item goldfish = new Item("Goldfish", new BigDecimal("10.10"), "fish1.jpg", null, "desc");
+        Item koi = new Item("Koi", new BigDecimal("19.99"), "fish2.jpg", null, "desc");
+        order.setOrderLines(Arrays.asList(new OrderLine(3, goldfish), new OrderLine(7, koi), new OrderLine(1, goldfish)));
+
+        // Checks the total is exact, which a float total is not
+        assertEquals(3030, order.getOrderLines().get(0).getSubTotalInCents());
+        assertEquals(18033, order.getTotalInCents());
+        assertEquals(new BigDecimal("180.33"), order.getTotal().toBigDecimal());
+        assertEquals("180.33", order.getTotal().toString());
+
+        // The lines keep the price they were sold at, changing the one of an item does not change the total
+        koi.setUnitCost(new BigDecimal("20.00"));
+        assertEquals(Money.ofCents(18033), order.getTotal());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Address;
+import org.agoncal.application.petstore.domain.CartItem;
+import org.agoncal.application.petstore.domain.Customer;
+import org.agoncal.application.petstore.domain.Item;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Customers and carts of the tests that place orders. Logins are unique across the tests, the database is
+ *         shared by all of them.
+ */
+
+public abstract class AbstractOrderTest extends AbstractServiceTest {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    protected OrderService orderService;
+
+    @Inject
+    protected CustomerService customerService;
+
+    @Inject
+    protected CatalogService catalogService;
+
+    // ======================================
+    // =          Protected Methods         =
+    // ======================================
+
+    protected Customer customer(String login) {
+        return customerService.createCustomer(new Customer("Ringo", "Starr", login, login, login + "@beatles.com", new Address("Abbey road", "Liverpool", "SW17", "UK")));
+    }
+
+    /**
+     * @return a line of 2 units for each of the first items of the catalog
+     */
+    protected List<CartItem> cartItems(int size) {
+        List<CartItem> cartItems = new ArrayList<CartItem>();
+        for (Item item : catalogService.findAllItems().subList(0, size)) {
+            cartItems.add(new CartItem(item, 2));
+        }
+        return cartItems;
+    }
+}
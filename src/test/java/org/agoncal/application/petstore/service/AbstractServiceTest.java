@@ -22,7 +22,8 @@ public abstract class AbstractServiceTest {
         JavaArchive archive = ShrinkWrap.create(JavaArchive.class)
                 .addPackages(true, "org.agoncal.application.petstore")
                 .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml")
-                .addAsManifestResource("META-INF/persistence.xml", "persistence.xml");
+                .addAsManifestResource("META-INF/persistence.xml", "persistence.xml")
+                .addAsManifestResource("META-INF/orm.xml", "orm.xml");
 //        System.out.println(archive.toString(true));
         return archive;
     }
@@ -0,0 +1,113 @@
+package org.agoncal.application.petstore.service;
+
+import org.junit.Test;
+
+import javax.ejb.EJBException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ */
+public class BatchWriterTest {
+
+    // ======================================
+    // =              Unit tests            =
+    // ======================================
+
+    @Test
+    public void shouldWriteAllThePendingBatches() {
+
+        ListWriter writer = new ListWriter("a", "b", "c");
+        assertEquals(3, writer.flush());
+        assertEquals(3, writer.written.size());
+        assertEquals(0, writer.flush());
+    }
+
+    @Test
+    public void shouldWriteAFailedBatchFirstWithTheNextFlush() {
+
+        ListWriter writer = new ListWriter("a", "b", "c");
+        writer.failures = 1;
+        assertEquals("The batches after the failed one should wait", 0, writer.flush());
+        assertTrue(writer.written.isEmpty());
+
+        writer.pending.add("d");
+        assertEquals(4, writer.flush());
+        assertEquals("a", writer.written.get(0));
+        assertEquals("d", writer.written.get(3));
+    }
+
+    @Test
+    public void shouldSkipATimeoutWhileBatchesAreWritten() {
+
+        final ListWriter writer = new ListWriter("a");
+        writer.onWrite = new Runnable() {
+            @Override
+            public void run() {
+                // The timer fires while the flush is writing
+                writer.onWrite = null;
+                writer.pending.add("b");
+                Thread timer = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        writer.onTimeout();
+                    }
+                });
+                timer.start();
+                try {
+                    timer.join();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                assertEquals("b", writer.pending.peek());
+            }
+        };
+        assertEquals("The flush should write what came in the meantime", 2, writer.flush());
+    }
+
+    // ======================================
+    // =            Inner Classes           =
+    // ======================================
+
+    /**
+     * Writes one element per batch, the first failures are rolled back
+     */
+    private static class ListWriter extends BatchWriter<String> {
+
+        private final LinkedList<String> pending = new LinkedList<String>();
+        private final List<String> written = new ArrayList<String>();
+        private int failures;
+        private Runnable onWrite;
+
+        ListWriter(String... elements) {
+            super(Logger.getLogger(BatchWriterTest.class.getName()), "Elements");
+            for (String element : elements) {
+                pending.add(element);
+            }
+        }
+
+        @Override
+        protected String take() {
+            return pending.poll();
+        }
+
+        @Override
+        protected int write(String element) {
+            if (onWrite != null)
+                onWrite.run();
+            if (failures > 0) {
+                failures--;
+                throw new EJBException("rolled back");
+            }
+            written.add(element);
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.CreditCard;
+import org.agoncal.application.petstore.domain.CreditCardType;
+import org.agoncal.application.petstore.domain.Customer;
+import org.agoncal.application.petstore.domain.Item;
+import org.agoncal.application.petstore.exception.ValidationException;
+import org.jboss.arquillian.junit.Arquillian;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ */
+@RunWith(Arquillian.class)
+public class CartStoreTest extends AbstractOrderTest {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private Inventory inventory;
+
+    @Inject
+    private CartStore cartStore;
+
+    // ======================================
+    // =              Unit tests            =
+    // ======================================
+
+    @Test
+    public void shouldCheckoutACartSharedByDevices() throws Exception {
+
+        List<Item> items = catalogService.findAllItems();
+        final Long itemId = items.get(items.size() - 3).getId();
+        inventory.restock(itemId, 20);
+        final String token = cartStore.create();
+        assertNotNull(token);
+        assertTrue(cartStore.find(token).getCartLines().isEmpty());
+        assertTrue("A single node has no route", cartStore.isLocal(token));
+        assertFalse(cartStore.isLocal(token + ".node2"));
+
+        // 4 devices add units to the same cart, as many as there are in stock
+        final AtomicInteger refused = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> devices = new ArrayList<Future<?>>();
+        for (int i = 0; i < 4; i++) {
+            devices.add(executor.submit(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < 10; j++) {
+                        try {
+                            cartStore.add(token, itemId, 1);
+                        } catch (ValidationException e) {
+                            refused.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+        for (Future<?> device : devices) {
+            device.get();
+        }
+        executor.shutdown();
+        assertEquals(20, refused.get());
+        CartView cart = cartStore.find(token);
+        assertEquals(1, cart.getCartLines().size());
+        assertEquals(20, cart.getCartLines().get(0).getQuantity());
+        assertEquals(Integer.valueOf(0), inventory.getAvailable(itemId));
+
+        // Units taken out of the cart are given back
+        cart = cartStore.setQuantity(token, itemId, 5);
+        assertEquals(Integer.valueOf(15), inventory.getAvailable(itemId));
+        assertEquals(cart.getCartLines().get(0).getSubTotal(), cart.getTotal());
+
+        // Once ordered the cart is gone, its units are the order's
+        Customer customer = customer("ronnie");
+        OrderSnapshot order = cartStore.checkout(token, customer, new CreditCard("1234", CreditCardType.VISA, "12/45"));
+        assertNotNull(order.getId());
+        assertEquals(5, order.getOrderLines().get(0).getQuantity());
+        assertNull(cartStore.find(token));
+        assertNull(cartStore.checkout(token, customer, new CreditCard("1234", CreditCardType.VISA, "12/45")));
+        assertEquals(Integer.valueOf(15), inventory.getAvailable(itemId));
+
+        // A discarded cart gives its units back
+        String other = cartStore.create();
+        cartStore.add(other, itemId, 3);
+        assertEquals(Integer.valueOf(12), inventory.getAvailable(itemId));
+        assertTrue(cartStore.discard(other));
+        assertFalse(cartStore.discard(other));
+        assertEquals(Integer.valueOf(15), inventory.getAvailable(itemId));
+    }
+}
@@ -10,10 +10,12 @@ import org.junit.runner.RunWith;
 import javax.ejb.EJBException;
 import javax.inject.Inject;
 import javax.validation.ConstraintViolationException;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNull;
-import static org.junit.Assert.fail;
+import static org.junit.Assert.*;
 
 /**
  * @author Antonio Goncalves
@@ -30,6 +32,9 @@ public class CatalogServiceTest extends AbstractServiceTest {
     @Inject
     private CatalogService catalogService;
 
+    @Inject
+    private CatalogCache catalogCache;
+
     // ======================================
     // =          Lifecycle Methods         =
     // ======================================
@@ -124,7 +129,7 @@ public class CatalogServiceTest extends AbstractServiceTest {
         // Creates an object
         Category category = new Category("Fish", "Any of numerous cold-blooded aquatic vertebrates characteristically having fins, gills, and a streamlined body");
         Product product = new Product("Angelfish", "Saltwater fish from Australia", category);
-        Item item = new Item("Large", 10.00f, "fish1.jpg", product, "Lorem ipsum dolor sit amet, consectetur adipiscing elit. Vestibulum velit ante, malesuada porta condimentum eget, tristique id magna. Donec ac justo velit. Suspendisse potenti. Donec vulputate vulputate molestie. Quisque vitae arcu massa, dictum sodales leo. Sed feugiat elit vitae ante auctor ultrices. Duis auctor consectetur arcu id faucibus. Curabitur gravida.");
+        Item item = new Item("Large", new BigDecimal("10.00"), "fish1.jpg", product, "Lorem ipsum dolor sit amet, consectetur adipiscing elit. Vestibulum velit ante, malesuada porta condimentum eget, tristique id magna. Donec ac justo velit. Suspendisse potenti. Donec vulputate vulputate molestie. Quisque vitae arcu massa, dictum sodales leo. Sed feugiat elit vitae ante auctor ultrices. Duis auctor consectetur arcu id faucibus. Curabitur gravida.");
 
         // Persists the object
         item = catalogService.createItem(item);
@@ -139,11 +144,14 @@ public class CatalogServiceTest extends AbstractServiceTest {
 
         // Updates the object
         item.setName("Large fish");
+        item.setUnitCost(new BigDecimal("12.35"));
         catalogService.updateItem(item);
 
-        // Finds the object by primary key
+        // Finds the object by primary key, its price is exact
         item = catalogService.findItem(id);
         assertEquals("Large fish", item.getName());
+        assertEquals(new BigDecimal("12.35"), item.getUnitCost());
+        assertEquals(1235, item.getPrice().getCents());
 
         // Deletes the object
         catalogService.removeItem(item);
@@ -155,13 +163,263 @@ public class CatalogServiceTest extends AbstractServiceTest {
         assertEquals("Should have an extra object", initialNumber, catalogService.findAllItems().size());
     }
 
+    @Test
+    public void shouldReadTheCatalogGraphFromTheSnapshot() {
+
+        // Creates an object graph
+        Category category = new Category("Koi", "Freshwater fish from Japan");
+        Product product = new Product("Butterfly Koi", "Long finned koi", category);
+        Item item = new Item("Male Adult", new BigDecimal("12.00"), "fish3.jpg", product, "Lorem ipsum dolor sit amet.");
+        item = catalogService.createItem(item);
+        Long itemId = item.getId();
+        Long productId = item.getProduct().getId();
+
+        // Reads are served by the same snapshot until the catalog changes, each one with copies of its own of the
+        // entity asked for, its parents copied alone
+        long misses = catalogCache.getMisses();
+        long hits = catalogCache.getHits();
+        String staleTag = catalogService.getCatalogTag();
+        Item copy = catalogService.findItem(itemId);
+        assertNotSame(copy, catalogService.findItem(itemId));
+        assertEquals(misses + 1, catalogCache.getMisses());
+        assertEquals(hits + 1, catalogCache.getHits());
+
+        // The tag is read without loading the catalog, and changes once the fresh snapshot is published
+        String tag = catalogService.getCatalogTag();
+        assertFalse(tag.equals(staleTag));
+        assertEquals(misses + 1, catalogCache.getMisses());
+        copy.setName("Changed");
+        assertNull(copy.getProduct().getItems());
+        assertNull(copy.getProduct().getCategory().getProducts());
+        copy.getProduct().addItem(new Item("Female Adult", new BigDecimal("12.00"), "fish3.jpg", copy.getProduct(), "Lorem ipsum dolor sit amet."));
+        assertEquals("Male Adult", catalogService.findItem(itemId).getName());
+        assertEquals(1, catalogService.findProduct(productId).getItems().size());
+        assertEquals(tag, catalogService.getCatalogTag());
+
+        // The one-to-many sides of the graph are loaded
+        product = catalogService.findProduct(productId);
+        assertEquals(1, product.getItems().size());
+        assertEquals(itemId, product.getItems().get(0).getId());
+        assertEquals(1, catalogService.findProducts("Koi").size());
+        assertEquals(1, catalogService.findCategory("Koi").getProducts().size());
+
+        // A change replaces the snapshot
+        catalogService.createItem(new Item("Female Adult", new BigDecimal("12.00"), "fish3.jpg", product, "Lorem ipsum dolor sit amet."));
+        assertEquals(2, catalogService.findProduct(productId).getItems().size());
+        assertFalse(tag.equals(catalogService.getCatalogTag()));
+
+        // Deletes the graph
+        catalogService.removeCategory(catalogService.findCategory("Koi"));
+        assertNull(catalogService.findProduct(productId));
+        assertNull(catalogService.findItem(itemId));
+    }
+
+    @Test
+    public void shouldServeTheStaleSnapshotWhileAFreshOneIsLoaded() throws Exception {
+
+        // A snapshot is published, then made stale by a change
+        catalogService.findAllCategories();
+        String tag = catalogService.getCatalogTag();
+        final CatalogSnapshot stale = catalogCache.getSnapshot(null);
+        catalogCache.invalidate();
+
+        // A reader loads the fresh one, slowly
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch loaded = new CountDownLatch(1);
+        final CatalogSnapshot fresh = new CatalogSnapshot(catalogCache.getVersion(), Collections.<Category>emptyList(), Collections.<Product>emptyList(), Collections.<Item>emptyList());
+        Thread loader = new Thread() {
+            @Override
+            public void run() {
+                catalogCache.getSnapshot(new CatalogCache.Loader() {
+                    @Override
+                    public CatalogSnapshot load(long version) {
+                        loading.countDown();
+                        try {
+                            loaded.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return fresh;
+                    }
+                });
+            }
+        };
+        loader.start();
+        assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+        // The others don't wait for it, and don't load one either
+        assertSame(stale, catalogCache.getSnapshot(null));
+        loaded.countDown();
+        loader.join(10000);
+        assertSame(fresh, catalogCache.getSnapshot(null));
+
+        // Loads the real catalog back
+        catalogCache.invalidate();
+        catalogService.findAllCategories();
+        assertEquals(tag, catalogService.getCatalogTag());
+    }
+
+    @Test
+    public void shouldLoadTheCatalogGraphInABoundedNumberOfStatements() {
+
+        // Creates a category with 3 products of 5 items each
+        Category category = new Category("Amphibians", "Cold-blooded vertebrates living both in water and on land");
+        List<Product> products = new ArrayList<Product>();
+        for (int p = 0; p < 3; p++) {
+            Product product = new Product("Frog " + p, "Tailless amphibian", category);
+            List<Item> items = new ArrayList<Item>();
+            for (int i = 0; i < 5; i++) {
+                items.add(new Item("Frog " + p + "." + i, new BigDecimal("10.00"), "frog1.jpg", product, "Croaks all night"));
+            }
+            product.setItems(items);
+            products.add(product);
+        }
+        category.setProducts(products);
+        catalogService.createCategory(category);
+
+        // The whole graph is loaded with one statement per table
+        StatementCounter.reset();
+        category = catalogService.findCategory("Amphibians");
+        int itemCount = 0;
+        for (Product product : category.getProducts()) {
+            assertEquals("Amphibians", product.getCategory().getName());
+            itemCount += product.getItems().size();
+        }
+        assertEquals(15, itemCount);
+        assertEquals(3, StatementCounter.getCount());
+
+        // And then read without any
+        StatementCounter.reset();
+        Product product = catalogService.findProductWithItems(category.getProducts().get(0).getId());
+        assertEquals(5, product.getItems().size());
+        assertEquals(0, StatementCounter.getCount());
+
+        // Deletes the graph
+        catalogService.removeCategory(category);
+    }
+
+    @Test
+    public void shouldSearchItemsWithTheInvertedIndex() {
+
+        // Creates an object graph
+        Category category = new Category("Reptiles", "Any of various cold-blooded, usually egg-laying vertebrates");
+        Product product = new Product("Iguanodon", "Herbivorous giant lizard", category);
+        Item smallItem = catalogService.createItem(new Item("Small Iguanodon", new BigDecimal("12.00"), "lizard1.jpg", product, "Sleeps all day"));
+        product = catalogService.findProduct(smallItem.getProduct().getId());
+        Item bigItem = catalogService.createItem(new Item("Big", new BigDecimal("15.00"), "lizard1.jpg", product, "Eats small iguanas"));
+
+        // Matches item names better than descriptions, by prefix and whole words
+        List<Item> items = catalogService.searchItems("iguanod");
+        assertEquals(2, items.size());
+        assertEquals(smallItem.getId(), items.get(0).getId());
+        assertEquals(bigItem.getId(), catalogService.searchItems("SMALL iguana").get(0).getId());
+        assertEquals(0, catalogService.searchItems("iguanodons").size());
+
+        // Renaming the product re-indexes its items
+        product = catalogService.findProduct(product.getId());
+        product.setName("Stegosaurus");
+        catalogService.updateProduct(product);
+        assertEquals(2, catalogService.searchItems("stego").size());
+        assertEquals(1, catalogService.searchItems("iguanodon").size());
+
+        // Removed items are not found anymore
+        catalogService.removeItem(smallItem.getId());
+        assertEquals(1, catalogService.searchItems("stegosaurus").size());
+        catalogService.removeCategory(catalogService.findProduct(product.getId()).getCategory());
+        assertEquals(0, catalogService.searchItems("stegosaurus").size());
+    }
+
+    @Test
+    public void shouldPageItemsById() {
+
+        List<Item> allItems = catalogService.findAllItems();
+
+        // Walks through all the items with pages of 3
+        List<Item> pagedItems = new ArrayList<Item>();
+        List<Item> page = catalogService.findItemsAfter(null, 3);
+        while (!page.isEmpty()) {
+            assertTrue(page.size() <= 3);
+            pagedItems.addAll(page);
+            page = catalogService.findItemsAfter(page.get(page.size() - 1).getId(), 3);
+        }
+        assertEquals(allItems, pagedItems);
+
+        // Pages are ordered by id
+        for (int i = 1; i < pagedItems.size(); i++) {
+            assertTrue(pagedItems.get(i - 1).getId() < pagedItems.get(i).getId());
+        }
+
+        // The cursor doesn't have to be an existing id
+        Long lastId = pagedItems.get(pagedItems.size() - 1).getId();
+        assertEquals(1, catalogService.findItemsAfter(lastId - 1, 3).size());
+        assertEquals(0, catalogService.findItemsAfter(lastId + 1000, 3).size());
+
+        // Views are paged the same way and hold the same values
+        List<ItemView> views = catalogService.findItemViews(null, 3);
+        assertEquals(3, views.size());
+        for (int i = 0; i < views.size(); i++) {
+            Item item = allItems.get(i);
+            assertEquals(item.getId(), views.get(i).getId());
+            assertEquals(item.getName(), views.get(i).getName());
+            assertEquals(item.getUnitCost(), views.get(i).getUnitCost());
+            assertEquals(item.getProduct().getId(), views.get(i).getProductId());
+        }
+        assertEquals(views.get(2).getId(), catalogService.findItemView(views.get(2).getId()).getId());
+        assertNull(catalogService.findItemView(lastId + 1000));
+
+        // Items looked up by id, the unknown ones are left out
+        Map<Long, Item> found = catalogService.findItems(Arrays.asList(allItems.get(0).getId(), lastId, lastId + 1000));
+        assertEquals(2, found.size());
+        assertEquals(allItems.get(0), found.get(allItems.get(0).getId()));
+        assertNotNull(found.get(lastId));
+    }
+
+    @Test
+    public void shouldImportRecordsAndReportTheFailingOnes() {
+
+        // A category, its product and three items, one too cheap and one of an unknown product
+        CatalogRecord category = record(1, CatalogRecord.Type.CATEGORY, "name", "Spiders", "description", "Eight-legged arachnids");
+        CatalogRecord product = record(2, CatalogRecord.Type.PRODUCT, "name", "Tarantula", "description", "Large hairy spider");
+        product.setParent(category);
+        CatalogRecord goodItem = record(3, CatalogRecord.Type.ITEM, "name", "Red Knee", "unitCost", "45.5", "imagePath", "spider1.jpg");
+        goodItem.setParent(product);
+        CatalogRecord cheapItem = record(4, CatalogRecord.Type.ITEM, "name", "Baby Red Knee", "unitCost", "2", "imagePath", "spider1.jpg");
+        cheapItem.setParent(product);
+        CatalogRecord orphanItem = record(5, CatalogRecord.Type.ITEM, "name", "Goliath", "unitCost", "90", "imagePath", "spider2.jpg", "productId", "-1");
+        List<CatalogRecord> records = Arrays.asList(category, product, goodItem, cheapItem, orphanItem);
+
+        catalogService.importRecords(records);
+
+        // Only the invalid records failed
+        assertNull(category.getError());
+        assertNull(product.getError());
+        assertNull(goodItem.getError());
+        assertNotNull(cheapItem.getError());
+        assertEquals("Unknown productId -1", orphanItem.getError());
+
+        Item item = catalogService.findItem(goodItem.getId());
+        assertEquals("Red Knee", item.getName());
+        assertEquals(product.getId(), item.getProduct().getId());
+        assertEquals(1, catalogService.findProductWithItems(product.getId()).getItems().size());
+
+        // Items of a later chunk attach to the product of a previous one
+        CatalogRecord lateItem = record(6, CatalogRecord.Type.ITEM, "name", "Pink Toe", "unitCost", "30", "imagePath", "spider3.jpg");
+        lateItem.setParent(product);
+        catalogService.importRecords(Collections.singletonList(lateItem));
+        assertNull(lateItem.getError());
+        assertEquals(2, catalogService.findProductWithItems(product.getId()).getItems().size());
+
+        // Deletes the graph
+        catalogService.removeCategory(category.getId());
+    }
+
     @Test
     public void itemPriceValidation() {
 
         // Creates an object
         Category category = new Category("Fish", "Here fishy fishy fishy!");
         Product product = new Product("Angelfish", "Saltwater fish from Australia", category);
-        Item item = new Item("Sickly Fish", 5.00f, "fish1.jpg", product, "This one doesn't look so healthy, sell it cheap!");
+        Item item = new Item("Sickly Fish", new BigDecimal("5.00"), "fish1.jpg", product, "This one doesn't look so healthy, sell it cheap!");
 
         try {
             // Persists the object
@@ -176,4 +434,16 @@ public class CatalogServiceTest extends AbstractServiceTest {
             // PASS -- ConstraintViolationException
         }
     }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private static CatalogRecord record(int number, CatalogRecord.Type type, String... fields) {
+        Map<String, String> values = new HashMap<String, String>();
+        for (int i = 0; i < fields.length; i += 2) {
+            values.put(fields[i], fields[i + 1]);
+        }
+        return new CatalogRecord(number, type, values);
+    }
 }
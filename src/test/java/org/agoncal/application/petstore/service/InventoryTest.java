@@ -0,0 +1,91 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.*;
+import org.agoncal.application.petstore.exception.ValidationException;
+import org.jboss.arquillian.junit.Arquillian;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ */
+@RunWith(Arquillian.class)
+public class InventoryTest extends AbstractOrderTest {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private Inventory inventory;
+
+    @Inject
+    private InventoryService inventoryService;
+
+    // ======================================
+    // =              Unit tests            =
+    // ======================================
+
+    @Test
+    public void shouldNeverOversellATrackedItem() throws Exception {
+
+        List<Item> items = catalogService.findAllItems();
+        final Long itemId = items.get(items.size() - 2).getId();
+        assertNull("Items are not tracked until restocked", inventory.getAvailable(itemId));
+        inventory.restock(itemId, 100);
+        assertEquals(Integer.valueOf(100), inventory.getAvailable(itemId));
+
+        // 8 carts compete for the 100 units, one at a time
+        final AtomicInteger reserved = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> carts = new ArrayList<Future<?>>();
+        for (int i = 0; i < 8; i++) {
+            carts.add(executor.submit(new Runnable() {
+                public void run() {
+                    for (int j = 0; j < 50; j++) {
+                        if (inventory.reserve(itemId, 1))
+                            reserved.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> cart : carts) {
+            cart.get();
+        }
+        executor.shutdown();
+        assertEquals(100, reserved.get());
+        assertEquals(Integer.valueOf(0), inventory.getAvailable(itemId));
+
+        // Units are given back by the carts, but the ones ordered, which the order consumes
+        inventory.release(itemId, 97);
+        Customer customer = customer("bono");
+        Order order = orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), Collections.singletonList(new CartItem(items.get(items.size() - 2), 3, 3)));
+        assertNotNull(order.getId());
+        assertEquals(Integer.valueOf(97), inventory.getAvailable(itemId));
+
+        // An order can't take more than what is left
+        try {
+            orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), Collections.singletonList(new CartItem(items.get(items.size() - 2), 98)));
+            fail("Only 97 units are left");
+        } catch (ValidationException e) {
+            assertEquals(Integer.valueOf(97), inventory.getAvailable(itemId));
+        }
+
+        // The node keeps one block, the other units go back to the stock for the other nodes
+        assertEquals(1, inventory.flush());
+        assertEquals(87, inventoryService.findStock(itemId).getQuantity());
+        assertEquals(Integer.valueOf(97), inventory.getAvailable(itemId));
+    }
+}
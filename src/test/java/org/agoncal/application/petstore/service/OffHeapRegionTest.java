@@ -0,0 +1,88 @@
+package org.agoncal.application.petstore.service;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ */
+public class OffHeapRegionTest {
+
+    // ======================================
+    // =              Unit tests            =
+    // ======================================
+
+    @Test
+    public void shouldStoreRecordsInChainsOfBlocks() {
+
+        // 8 blocks of 124 bytes of record each
+        OffHeapRegion region = new OffHeapRegion(1024, 128);
+        assertEquals(1024, region.getCapacity());
+        byte[] small = record(10, (byte) 1);
+        byte[] large = record(292, (byte) 2);
+
+        int first = region.store(small);
+        int second = region.store(large);
+        assertTrue(first >= 0 && second >= 0);
+        assertEquals("A record of 292 bytes takes 3 blocks", 4 * 128, region.getUsedBytes());
+
+        assertArrayEquals(small, region.load(first, small.length));
+        assertArrayEquals(large, region.load(second, large.length));
+    }
+
+    @Test
+    public void shouldRefuseARecordThatDoesNotFitUntilBlocksAreFreed() {
+
+        OffHeapRegion region = new OffHeapRegion(1024, 128);
+        byte[] record = record(292, (byte) 3);
+        int first = region.store(record);
+        int second = region.store(record);
+        assertEquals(6 * 128, region.getUsedBytes());
+
+        // No room left for a third one, nothing is stored
+        assertEquals(-1, region.store(record));
+        assertEquals(6 * 128, region.getUsedBytes());
+
+        // Until the first is freed, its blocks are given to the next one
+        region.free(first);
+        assertEquals(3 * 128, region.getUsedBytes());
+        int third = region.store(record(292, (byte) 4));
+        assertTrue(third >= 0);
+        assertArrayEquals(record, region.load(second, record.length));
+        assertArrayEquals(record(292, (byte) 4), region.load(third, record.length));
+    }
+
+    @Test
+    public void shouldTakeOneBlockForAnEmptyRecord() {
+
+        OffHeapRegion region = new OffHeapRegion(256, 128);
+        int block = region.store(new byte[0]);
+        assertTrue(block >= 0);
+        assertEquals(128, region.getUsedBytes());
+        assertEquals(0, region.load(block, 0).length);
+        region.free(block);
+        assertEquals(0, region.getUsedBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRefuseBlocksTooSmallForTheirHeader() {
+        new OffHeapRegion(1024, 4);
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private byte[] record(int length, byte seed) {
+        byte[] record = new byte[length];
+        Arrays.fill(record, seed);
+        for (int i = 0; i < length; i += 7) {
+            record[i] = (byte) i;
+        }
+        return record;
+    }
+}
@@ -0,0 +1,44 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.CreditCard;
+import org.agoncal.application.petstore.domain.CreditCardType;
+import org.agoncal.application.petstore.domain.Customer;
+import org.jboss.arquillian.junit.Arquillian;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ */
+@RunWith(Arquillian.class)
+public class OrderCacheTest extends AbstractOrderTest {
+
+    // ======================================
+    // =              Unit tests            =
+    // ======================================
+
+    @Test
+    public void shouldBoundTheOrderCacheByItsNumberOfLines() {
+
+        Customer customer = customer("charlie");
+        OrderCache cache = new OrderCache(5);
+        OrderSnapshot first = new OrderSnapshot(orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems(2)));
+        OrderSnapshot second = new OrderSnapshot(orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems(2)));
+        OrderSnapshot third = new OrderSnapshot(orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems(3)));
+
+        cache.put(first);
+        cache.put(second);
+        assertEquals(4, cache.getLines());
+
+        // The first one is read again, the second is now the least recently read and makes room for the third
+        assertNotNull(cache.get(first.getId()));
+        cache.put(third);
+        assertEquals(5, cache.getLines());
+        assertEquals(2, cache.getSize());
+        assertNull(cache.get(second.getId()));
+        assertNotNull(cache.get(first.getId()));
+    }
+}
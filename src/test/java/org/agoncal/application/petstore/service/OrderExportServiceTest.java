@@ -0,0 +1,67 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.*;
+import org.jboss.arquillian.junit.Arquillian;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.inject.Inject;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ */
+@RunWith(Arquillian.class)
+public class OrderExportServiceTest extends AbstractOrderTest {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private OrderExportService orderExportService;
+
+    // ======================================
+    // =              Unit tests            =
+    // ======================================
+
+    @Test
+    public void shouldExportTheOrderLinesOfAPeriodAsCsv() throws Exception {
+
+        Customer customer = customerService.createCustomer(new Customer("Ringo", "Starr, \"Jr\"", "starr", "starr", "starr@beatles.com", new Address("Abbey road", "Liverpool", "SW17", "UK")));
+        Order order = orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems(3));
+        Date today = new Date();
+
+        StringWriter csv = new StringWriter();
+        int written = orderExportService.exportOrders(today, today, csv);
+        String[] rows = csv.toString().split("\r\n");
+        assertEquals(OrderExportService.HEADER, rows[0]);
+        assertEquals(written, rows.length - 1);
+
+        // One row per line of the order, quoted when needed, each with the order total
+        List<String> orderRows = new ArrayList<String>();
+        for (String row : rows) {
+            if (row.startsWith(order.getId() + ","))
+                orderRows.add(row);
+        }
+        assertEquals(3, orderRows.size());
+        OrderLine orderLine = order.getOrderLines().get(0);
+        assertTrue(orderRows.get(0).contains(",starr,\"Ringo Starr, \"\"Jr\"\"\","));
+        assertTrue(orderRows.get(0).contains("," + orderLine.getQuantity() + "," + orderLine.getItem().getUnitCost() + ","));
+        assertTrue(orderRows.get(0).endsWith("," + order.getTotal()));
+
+        // Nothing was ordered yesterday
+        Calendar yesterday = Calendar.getInstance();
+        yesterday.add(Calendar.DAY_OF_MONTH, -1);
+        csv = new StringWriter();
+        assertEquals(0, orderExportService.exportOrders(yesterday.getTime(), yesterday.getTime(), csv));
+        assertEquals(OrderExportService.HEADER + "\r\n", csv.toString());
+    }
+}
@@ -0,0 +1,91 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.*;
+import org.jboss.arquillian.junit.Arquillian;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.inject.Inject;
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ */
+@RunWith(Arquillian.class)
+public class OrderQueueTest extends AbstractOrderTest {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private OrderQueue orderQueue;
+
+    @Inject
+    private Inventory inventory;
+
+    // ======================================
+    // =              Unit tests            =
+    // ======================================
+
+    @Test
+    public void shouldWriteQueuedOrdersByBatches() {
+
+        Customer customer = customer("george");
+        List<CartItem> cartItems = cartItems(3);
+        orderQueue.setEnabled(true);
+        try {
+            // Accepted orders have their id straight away
+            Set<Long> ids = new HashSet<Long>();
+            for (int i = 0; i < 5; i++) {
+                Order order = orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems);
+                assertNotNull(order.getId());
+                ids.add(order.getId());
+            }
+            assertEquals("Ids should be unique", 5, ids.size());
+
+            // Once the queue is flushed they are all written
+            orderQueue.flush();
+            assertEquals(0, orderQueue.getDepth());
+            for (Long id : ids) {
+                Order found = orderService.findOrder(id);
+                assertNotNull("Order " + id + " should have been written", found);
+                assertEquals(3, found.getOrderLines().size());
+            }
+        } finally {
+            orderQueue.setEnabled(false);
+        }
+    }
+
+    @Test
+    public void shouldKeepQueuedOrdersThatCantBeWritten() {
+
+        Customer customer = customer("brian");
+        Item item = catalogService.createItem(new Item("Dead letter", new BigDecimal("10.00"), "fish1.jpg", catalogService.findAllProducts().get(0), "Never written"));
+        inventory.restock(item.getId(), 10);
+        assertTrue(inventory.reserve(item.getId(), 2));
+        orderQueue.setEnabled(true);
+        try {
+            // The item is gone by the time the order is written
+            Order order = orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), Collections.singletonList(new CartItem(item, 2, 2)));
+            catalogService.removeItem(item.getId());
+            long failed = orderQueue.getFailedOrders();
+            orderQueue.flush();
+
+            assertNull(orderService.findOrder(order.getId()));
+            assertEquals(failed + 1, orderQueue.getFailedOrders());
+            FailedOrder failedOrder = orderService.findFailedOrder(order.getId());
+            assertNotNull(failedOrder);
+            assertEquals(customer.getId(), failedOrder.getCustomerId());
+            assertEquals("2 x " + item.getId(), failedOrder.getOrderLines());
+            assertEquals("The units should be given back", Integer.valueOf(10), inventory.getAvailable(item.getId()));
+            assertNull(orderService.findOrderSnapshot(customer, order.getId()));
+        } finally {
+            orderQueue.setEnabled(false);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.*;
+import org.agoncal.application.petstore.exception.ValidationException;
+import org.jboss.arquillian.junit.Arquillian;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.inject.Inject;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ */
+@RunWith(Arquillian.class)
+public class OrderServiceTest extends AbstractOrderTest {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private OrderCache orderCache;
+
+    @Inject
+    private OrderExportService orderExportService;
+
+    // ======================================
+    // =              Unit tests            =
+    // ======================================
+
+    @Test
+    public void shouldCreateAnOrder() {
+
+        Customer customer = customer("ringo");
+        List<CartItem> cartItems = cartItems(2);
+
+        // Creates the order, it is written right away
+        Order order = orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems);
+        assertNotNull(order.getId());
+        assertNotNull(order.getOrderDate());
+
+        // Finds it by primary key
+        Order found = orderService.findOrder(order.getId());
+        assertNotNull(found);
+        assertEquals("ringo", found.getCustomer().getLogin());
+        assertEquals(2, found.getOrderLines().size());
+        assertEquals(order.getTotal(), found.getTotal());
+    }
+
+    @Test
+    public void shouldCreateAnOrderInABoundedNumberOfStatements() {
+
+        Customer customer = customer("paul");
+        List<CartItem> cartItems = cartItems(5);
+
+        // The first order reserves the blocks of ids
+        orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems);
+
+        // The next ones check the prices in one query, insert the order and its lines in one batch, whatever the
+        // number of lines
+        StatementCounter.reset();
+        Order order = orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems);
+        assertCheckoutStatements();
+        StatementCounter.reset();
+        orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems(1));
+        assertCheckoutStatements();
+
+        // Reading it back takes one query for the order and its customer, one for the lines and their items
+        StatementCounter.reset();
+        Order found = orderService.findOrder(order.getId());
+        assertEquals(5, found.getOrderLines().size());
+        assertEquals(1, StatementCounter.getCount("FROM t_order"));
+        assertEquals("The lines should be read in one query", 1, StatementCounter.getCount("FROM OrderLine"));
+    }
+
+    @Test
+    public void shouldNotCreateAnOrderOfNoUnits() {
+
+        Customer customer = customer("lemmy");
+        Item item = catalogService.findAllItems().get(0);
+        for (int quantity : new int[]{0, -2}) {
+            try {
+                orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), Arrays.asList(new CartItem(item, 1), new CartItem(item, quantity)));
+                fail("The order should have been refused");
+            } catch (ValidationException e) {
+                assertTrue(e.getMessage().contains("quantity"));
+            }
+        }
+    }
+
+    @Test
+    public void shouldServeAcceptedOrdersFromTheCache() {
+
+        Customer customer = customer("keith");
+        Order order = orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems(3));
+
+        // Cached as soon as it is accepted
+        StatementCounter.reset();
+        OrderSnapshot snapshot = orderService.findOrderSnapshot(customer, order.getId());
+        assertEquals(0, StatementCounter.getCount("FROM t_order") + StatementCounter.getCount("FROM OrderLine"));
+        assertEquals(order.getId(), snapshot.getId());
+        assertEquals("keith", snapshot.getCustomerLogin());
+        assertEquals(3, snapshot.getOrderLines().size());
+        assertNotNull(snapshot.getOrderLines().get(0).getProductName());
+        assertEquals(order.getTotal().toBigDecimal(), snapshot.getTotal());
+        try {
+            snapshot.getOrderLines().clear();
+            fail("Snapshots should be immutable");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+
+        // Only to its customer
+        assertNull(orderService.findOrderSnapshot(customer("mick"), order.getId()));
+
+        // Read once when evicted
+        orderCache.remove(order.getId());
+        assertEquals(snapshot.getTotal(), orderService.findOrderSnapshot(customer, order.getId()).getTotal());
+        StatementCounter.reset();
+        orderService.findOrderSnapshot(customer, order.getId());
+        assertEquals(0, StatementCounter.getCount("FROM t_order"));
+    }
+
+    @Test
+    public void shouldNotCreateAnOrderWhenAPriceHasChanged() {
+
+        Customer customer = customer("pete");
+        List<Item> items = catalogService.findAllItems();
+        Item item = items.get(items.size() - 1);
+        BigDecimal unitCost = item.getUnitCost();
+        List<CartItem> cartItems = Collections.singletonList(new CartItem(item, 1));
+
+        // The price changes once the item is in the cart
+        item.setUnitCost(unitCost.add(BigDecimal.ONE));
+        catalogService.updateItem(item);
+        item.setUnitCost(unitCost);
+        try {
+            orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems);
+            fail("The order should have been refused");
+        } catch (ValidationException e) {
+            assertTrue(e.getMessage().contains("price"));
+        } finally {
+            catalogService.updateItem(item);
+        }
+
+        // It goes through with the right price
+        assertNotNull(orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems).getId());
+    }
+
+    @Test
+    public void shouldPageTheOrderHistoryOfACustomer() {
+
+        Customer customer = customer("john");
+        Customer other = customer("yoko");
+        List<Order> orders = new ArrayList<Order>();
+        for (int i = 1; i <= 5; i++) {
+            orders.add(orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems(i)));
+        }
+        orderService.createOrder(other, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems(1));
+
+        // Newest first, two pages of two and a last one
+        List<OrderSummary> page = orderService.findOrders(customer, null, 2);
+        assertEquals(2, page.size());
+        assertEquals(orders.get(4).getId(), page.get(0).getId());
+        assertEquals(5, page.get(0).getLineCount());
+        assertEquals(orders.get(4).getTotal().toBigDecimal(), page.get(0).getTotal());
+        assertEquals(orders.get(3).getId(), page.get(1).getId());
+
+        // A page is one query for the orders and one for their totals
+        StatementCounter.reset();
+        page = orderService.findOrders(customer, page.get(1).getId(), 2);
+        assertEquals(1, StatementCounter.getCount("FROM t_order"));
+        assertEquals(1, StatementCounter.getCount("FROM OrderLine"));
+        assertEquals(orders.get(2).getId(), page.get(0).getId());
+        assertEquals(orders.get(1).getId(), page.get(1).getId());
+
+        page = orderService.findOrders(customer, page.get(1).getId(), 2);
+        assertEquals(1, page.size());
+        assertEquals(orders.get(0).getId(), page.get(0).getId());
+        assertEquals(1, page.get(0).getLineCount());
+        assertTrue(orderService.findOrders(customer, page.get(0).getId(), 2).isEmpty());
+
+        // Lines are only read for one order, and only by its customer
+        List<OrderLine> orderLines = orderService.findOrderLines(customer, orders.get(2).getId());
+        assertEquals(3, orderLines.size());
+        assertNotNull(orderLines.get(0).getItem().getName());
+        assertTrue(orderService.findOrderLines(other, orders.get(2).getId()).isEmpty());
+    }
+
+    @Test
+    public void shouldKeepThePriceTheLinesWereSoldAt() throws Exception {
+
+        Customer customer = customer("ozzy");
+        Order order = orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems(1));
+        Item item = catalogService.findItem(order.getOrderLines().get(0).getItem().getId());
+        BigDecimal unitCost = item.getUnitCost();
+        Money price = item.getPrice();
+        Date today = new Date();
+
+        // The price changes once the order is accepted
+        item.setUnitCost(unitCost.add(BigDecimal.ONE));
+        catalogService.updateItem(item);
+        try {
+            assertEquals(order.getTotal().toBigDecimal(), orderService.findOrders(customer, null, 1).get(0).getTotal());
+            assertEquals(price, orderService.findOrderLines(customer, order.getId()).get(0).getPrice());
+
+            // Also once the snapshot is read again
+            orderCache.remove(order.getId());
+            OrderSnapshot snapshot = orderService.findOrderSnapshot(customer, order.getId());
+            assertEquals(price, Money.valueOf(snapshot.getOrderLines().get(0).getUnitCost()));
+            assertEquals(order.getTotal(), Money.valueOf(snapshot.getTotal()));
+
+            StringWriter csv = new StringWriter();
+            orderExportService.exportOrders(today, today, csv);
+            assertTrue(csv.toString().contains(order.getId() + ","));
+            for (String row : csv.toString().split("\r\n")) {
+                if (row.startsWith(order.getId() + ","))
+                    assertTrue(row.endsWith("," + price + "," + order.getTotal() + "," + order.getTotal()));
+            }
+        } finally {
+            item.setUnitCost(unitCost);
+            catalogService.updateItem(item);
+        }
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    /**
+     * Statements are counted by table, the timers writing the sales and the stocks may run in the meantime. Updates
+     * are not counted: without enhancement the embedded addresses may be flushed back unchanged. Nor can references be
+     * left hollow, so the customer may be read as well.
+     */
+    private void assertCheckoutStatements() {
+        assertEquals("No id should be reserved", 0, StatementCounter.getCount("t_sequence") + StatementCounter.getCount("t_id_block"));
+        assertEquals(1, StatementCounter.getCount("INSERT INTO t_order"));
+        assertEquals("Order lines should be inserted in one batch", 1, StatementCounter.getCount("INSERT INTO OrderLine"));
+        assertTrue("Prices should be checked in one query, if not cached", StatementCounter.getCount("FROM Item") <= 1);
+        assertTrue("The customer should be read once at most", StatementCounter.getCount("FROM Customer") <= 1);
+    }
+}
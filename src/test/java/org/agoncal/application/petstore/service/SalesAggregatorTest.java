@@ -0,0 +1,79 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.*;
+import org.jboss.arquillian.junit.Arquillian;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.inject.Inject;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ */
+@RunWith(Arquillian.class)
+public class SalesAggregatorTest extends AbstractOrderTest {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    @Inject
+    private SalesAggregator salesAggregator;
+
+    @Inject
+    private ReportService reportService;
+
+    // ======================================
+    // =              Unit tests            =
+    // ======================================
+
+    @Test
+    public void shouldAddUpTheSalesOfTheWrittenOrders() {
+
+        Customer customer = customer("mal");
+        List<CartItem> cartItems = cartItems(2);
+        Long itemId = cartItems.get(0).getItem().getId();
+        Date today = new Date();
+
+        salesAggregator.flush();
+        SalesReportLine before = sales(reportService.findSales(today, today, ReportService.GroupBy.ITEM), itemId);
+
+        // Two orders of two lines, each line with a quantity of 2
+        Order order = orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems);
+        orderService.createOrder(customer, new CreditCard("1234", CreditCardType.VISA, "12/45"), cartItems);
+        salesAggregator.flush();
+
+        // Reports only read the aggregates
+        StatementCounter.reset();
+        SalesReportLine after = sales(reportService.findSales(today, today, ReportService.GroupBy.ITEM), itemId);
+        assertEquals(1, StatementCounter.getCount("FROM t_sales"));
+        assertEquals(0, StatementCounter.getCount("t_order") + StatementCounter.getCount("OrderLine"));
+
+        assertEquals(4, after.getQuantity() - (before == null ? 0 : before.getQuantity()));
+        assertEquals(2, after.getOrderLines() - (before == null ? 0 : before.getOrderLines()));
+        long beforeInCents = before == null ? 0 : Money.valueOf(before.getAmount()).getCents();
+        assertEquals(2 * order.getOrderLines().get(0).getSubTotalInCents(), Money.valueOf(after.getAmount()).getCents() - beforeInCents);
+
+        List<SalesReportLine> days = reportService.findSales(today, today, ReportService.GroupBy.DAY);
+        assertEquals(1, days.size());
+        assertNotNull(days.get(0).getDay());
+        assertFalse(reportService.findSales(today, today, ReportService.GroupBy.CATEGORY).isEmpty());
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    private SalesReportLine sales(List<SalesReportLine> report, Long itemId) {
+        for (SalesReportLine sales : report) {
+            if (sales.getItemId().equals(itemId))
+                return sales;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,112 @@
+package org.agoncal.application.petstore.service;
+
+import org.agoncal.application.petstore.domain.Item;
+import org.agoncal.application.petstore.domain.Money;
+import org.junit.Test;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ */
+public class ShoppingCartTest {
+
+    // ======================================
+    // =              Unit tests            =
+    // ======================================
+
+    @Test
+    public void shouldAddUnitsToTheLineOfAnItem() {
+
+        ShoppingCart cart = new ShoppingCart();
+        Item bulldog = item(1L, "10.00");
+        cart.add(bulldog);
+        cart.add(item(2L, "2.50"));
+        CartLine cartLine = cart.add(bulldog);
+
+        assertEquals(2, cart.size());
+        assertEquals(2, cartLine.getQuantity());
+        assertEquals(Money.valueOf(new BigDecimal("22.50")), cart.getTotal());
+    }
+
+    @Test
+    public void shouldWriteTheLinesInTheirCompactForm() throws IOException {
+
+        ShoppingCart cart = cart(12);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        cart.writeTo(new DataOutputStream(bytes));
+        assertEquals("24 bytes a line after the count", 4 + 24 * 12, bytes.size());
+        assertEquals(cart.getLength(), bytes.size());
+
+        ShoppingCart read = new ShoppingCart();
+        read.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertSameLines(cart, read);
+    }
+
+    @Test
+    public void shouldBeSerializedInItsCompactForm() throws Exception {
+
+        ShoppingCart cart = cart(3);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(cart);
+        out.close();
+        assertFalse("The lines should have no class descriptor", new String(bytes.toByteArray(), "ISO-8859-1").contains("CartLine"));
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertSameLines(cart, (ShoppingCart) in.readObject());
+    }
+
+    // ======================================
+    // =           Private Methods          =
+    // ======================================
+
+    /**
+     * Lines of 1 to 3 units, 1 unit reserved each
+     */
+    private ShoppingCart cart(int size) {
+        ShoppingCart cart = new ShoppingCart();
+        for (int i = 0; i < size; i++) {
+            CartLine cartLine = cart.add(item(100L - i, (10 + i) + ".99"));
+            cartLine.setQuantity(1 + i % 3);
+            cartLine.setReserved(1);
+        }
+        return cart;
+    }
+
+    private void assertSameLines(ShoppingCart expected, ShoppingCart actual) {
+        assertEquals("Lines should keep their order", new ArrayList<Long>(expected.getItemIds()), new ArrayList<Long>(actual.getItemIds()));
+        Iterator<CartLine> lines = actual.getLines().iterator();
+        for (CartLine cartLine : expected.getLines()) {
+            CartLine read = lines.next();
+            assertEquals(cartLine.getQuantity(), read.getQuantity());
+            assertEquals(cartLine.getReserved(), read.getReserved());
+            assertEquals(cartLine.getUnitCostInCents(), read.getUnitCostInCents());
+        }
+        assertEquals(expected.getTotal(), actual.getTotal());
+    }
+
+    /**
+     * Item with the id the database would have given it
+     */
+    private Item item(Long id, String unitCost) {
+        Item item = new Item("Bulldog " + id, new BigDecimal(unitCost), "dog1.jpg", null, "Friendly dog from England");
+        try {
+            Field field = Item.class.getDeclaredField("id");
+            field.setAccessible(true);
+            field.set(item, id);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        return item;
+    }
+}
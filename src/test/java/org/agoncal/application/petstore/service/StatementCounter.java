@@ -0,0 +1,60 @@
+package org.agoncal.application.petstore.service;
+
+import org.apache.openjpa.lib.jdbc.AbstractJDBCListener;
+import org.apache.openjpa.lib.jdbc.JDBCEvent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Antonio Goncalves
+ *         http://www.antoniogoncalves.org
+ *         --
+ *         Counts the SQL statements OpenJPA executes, a JDBC batch counting as one. It is registered as a JDBC
+ *         listener of the persistence unit in arquillian.xml
+ */
+
+public class StatementCounter extends AbstractJDBCListener {
+
+    // ======================================
+    // =             Attributes             =
+    // ======================================
+
+    private static final AtomicInteger count = new AtomicInteger();
+    private static final List<String> statements = Collections.synchronizedList(new ArrayList<String>());
+
+    // ======================================
+    // =              Public Methods        =
+    // ======================================
+
+    public static void reset() {
+        count.set(0);
+        statements.clear();
+    }
+
+    public static int getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return number of statements executed since the last reset that contain the given SQL
+     */
+    public static int getCount(String sql) {
+        int matches = 0;
+        synchronized (statements) {
+            for (String statement : statements) {
+                if (statement.contains(sql))
+                    matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public void beforeExecuteStatement(JDBCEvent event) {
+        count.incrementAndGet();
+        statements.add(event.getSQL());
+    }
+}